@@ -0,0 +1,64 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.internal.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Concurrent lookups from a registry hierarchy similar to global, build and project scopes.
+ */
+@Fork(2)
+@Threads(4)
+@Warmup(iterations = 10)
+@State(Scope.Benchmark)
+public class DefaultServiceRegistryBenchmark {
+
+    private DefaultServiceRegistry projectServices;
+
+    @Setup
+    public void createRegistries() {
+        DefaultServiceRegistry globalServices = new DefaultServiceRegistry("global");
+        globalServices.add(StringBuilder.class, new StringBuilder());
+        DefaultServiceRegistry buildServices = new DefaultServiceRegistry("build", globalServices);
+        buildServices.add(Double.class, 1.0);
+        projectServices = new DefaultServiceRegistry("project", buildServices);
+        projectServices.add(Integer.class, 12);
+    }
+
+    @Benchmark
+    public void ownService(Blackhole bh) {
+        bh.consume(projectServices.get(Integer.class));
+    }
+
+    @Benchmark
+    public void grandParentService(Blackhole bh) {
+        bh.consume(projectServices.get(StringBuilder.class));
+    }
+
+    @Benchmark
+    public void missingService(Blackhole bh) {
+        bh.consume(projectServices.find(Long.class));
+    }
+}
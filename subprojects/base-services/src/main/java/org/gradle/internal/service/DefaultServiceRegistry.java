@@ -39,7 +39,9 @@ import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
@@ -70,18 +72,25 @@ import java.util.concurrent.atomic.AtomicReference;
  * org.gradle.internal.concurrent.Stoppable} then the appropriate close() or stop() method is called. Instances are closed in reverse dependency order.</p>
  *
  * <p>Service registries are arranged in a hierarchy. If a service of a given type cannot be located, the registry uses its parent registry, if any, to locate the service.</p>
+ *
+ * <p>Once a registry is no longer mutable, the result of locating a service by class is cached, including the fact that no such service exists. This is only done when all parent registries
+ * are also {@link DefaultServiceRegistry} instances, as other implementations may change the services they provide over time. Cached services are discarded once any ancestor is closed.</p>
  */
 public class DefaultServiceRegistry implements ServiceRegistry, Closeable {
     private enum State {INIT, STARTED, CLOSED};
     private final static ServiceRegistry[] NO_PARENTS = new ServiceRegistry[0];
     private final static Service[] NO_DEPENDENTS = new Service[0];
     private final static Object[] NO_PARAMS = new Object[0];
+    private final static Object NO_SERVICE = new Object();
 
     private final OwnServices ownServices;
     private final ServiceProvider allServices;
     private final ServiceProvider parentServices;
     private final String displayName;
     private final ServiceProvider thisAsServiceProvider;
+    // Located services by type, or NO_SERVICE. Null when lookups cannot be cached
+    private final ConcurrentMap<Class<?>, Object> servicesByType;
+    private final DefaultServiceRegistry[] parentRegistries;
 
     private AtomicReference<State> state = new AtomicReference<State>(State.INIT);
 
@@ -108,10 +117,27 @@ public class DefaultServiceRegistry implements ServiceRegistry, Closeable {
             parentServices = setupParentServices(parents);
             allServices = new CompositeServiceProvider(ownServices, parentServices);
         }
+        if (canCacheLookups(parents)) {
+            this.servicesByType = new ConcurrentHashMap<Class<?>, Object>(16, 0.75f, 1);
+            this.parentRegistries = new DefaultServiceRegistry[parents.length];
+            System.arraycopy(parents, 0, parentRegistries, 0, parents.length);
+        } else {
+            this.servicesByType = null;
+            this.parentRegistries = null;
+        }
 
         findProviderMethods(this);
     }
 
+    private static boolean canCacheLookups(ServiceRegistry[] parents) {
+        for (ServiceRegistry parent : parents) {
+            if (!(parent instanceof DefaultServiceRegistry) || ((DefaultServiceRegistry) parent).servicesByType == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private static ServiceProvider setupParentServices(ServiceRegistry[] parents) {
         ServiceProvider parentServices;
         if (parents.length == 1) {
@@ -254,6 +280,9 @@ public class DefaultServiceRegistry implements ServiceRegistry, Closeable {
     public void close() {
         noLongerMutable();
         if (state.compareAndSet(State.STARTED, State.CLOSED)) {
+            if (servicesByType != null) {
+                servicesByType.clear();
+            }
             CompositeStoppable.stoppable(allServices).stop();
         }
     }
@@ -266,7 +295,8 @@ public class DefaultServiceRegistry implements ServiceRegistry, Closeable {
     }
 
     private void noLongerMutable() {
-        if (state.compareAndSet(State.INIT, State.STARTED)) {
+        // Avoid a contended write on every lookup once started
+        if (state.get() == State.INIT && state.compareAndSet(State.INIT, State.STARTED)) {
             ownServices.noLongerMutable();
         }
     }
@@ -297,7 +327,30 @@ public class DefaultServiceRegistry implements ServiceRegistry, Closeable {
 
     private Service getService(Type serviceType) {
         serviceRequested();
-        return find(serviceType, allServices);
+        if (servicesByType == null || !(serviceType instanceof Class)) {
+            return find(serviceType, allServices);
+        }
+        Object service = servicesByType.get(serviceType);
+        if (service != null && !parentsOpen()) {
+            // An ancestor has been closed, so locate the service again to fail in the same way as an uncached lookup
+            servicesByType.clear();
+            service = null;
+        }
+        if (service == null) {
+            Service located = find(serviceType, allServices);
+            service = located == null ? NO_SERVICE : located;
+            servicesByType.putIfAbsent((Class<?>) serviceType, service);
+        }
+        return service == NO_SERVICE ? null : (Service) service;
+    }
+
+    private boolean parentsOpen() {
+        for (DefaultServiceRegistry parent : parentRegistries) {
+            if (parent.isClosed() || !parent.parentsOpen()) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
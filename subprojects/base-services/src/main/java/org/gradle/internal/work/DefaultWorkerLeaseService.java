@@ -49,6 +49,7 @@ public class DefaultWorkerLeaseService implements WorkerLeaseService, Parallelis
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultWorkerLeaseService.class);
 
     private volatile int maxWorkerCount;
+    private volatile boolean lowOnMemory;
     private int counter = 1;
     private final Root root = new Root();
 
@@ -73,6 +74,31 @@ public class DefaultWorkerLeaseService implements WorkerLeaseService, Parallelis
         projectLockRegistry.setParallelEnabled(parallelismConfiguration.isParallelProjectExecutionEnabled());
     }
 
+    /**
+     * Called when the current process starts or stops running low on heap. The owner of this service is responsible for forwarding {@link MemoryPressureListener} events to this method.
+     */
+    public void onMemoryPressureChange(boolean lowOnMemory) {
+        if (this.lowOnMemory == lowOnMemory) {
+            return;
+        }
+        this.lowOnMemory = lowOnMemory;
+        if (lowOnMemory) {
+            LOGGER.info("Running low on memory, using at most {} worker leases.", getLeaseLimit());
+        } else {
+            LOGGER.info("No longer running low on memory, using {} worker leases.", maxWorkerCount);
+            // Wake up any workers waiting for a lease that is available again
+            coordinationService.notifyStateChange();
+        }
+    }
+
+    /**
+     * The number of leases that may currently be granted. Leases that have already been granted are not revoked when
+     * the process runs low on memory, but no new ones are granted until the number in use drops below the limit.
+     */
+    private int getLeaseLimit() {
+        return lowOnMemory ? Math.max(1, maxWorkerCount / 2) : maxWorkerCount;
+    }
+
     @Override
     public int getMaxWorkerCount() {
         return maxWorkerCount;
@@ -285,7 +311,7 @@ public class DefaultWorkerLeaseService implements WorkerLeaseService, Parallelis
 
         @Override
         public boolean grantLease() {
-            if (leasesInUse >= maxWorkerCount) {
+            if (leasesInUse >= getLeaseLimit()) {
                 return false;
             }
             leasesInUse++;
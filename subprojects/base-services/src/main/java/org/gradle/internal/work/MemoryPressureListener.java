@@ -0,0 +1,29 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.work;
+
+/**
+ * A listener that is notified when the current process starts or stops running low on heap.
+ */
+public interface MemoryPressureListener {
+    /**
+     * Called when the memory pressure of the current process changes.
+     *
+     * @param lowOnMemory - whether the process is running low on heap
+     */
+    void onMemoryPressureChange(boolean lowOnMemory);
+}
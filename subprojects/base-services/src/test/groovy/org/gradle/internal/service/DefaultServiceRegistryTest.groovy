@@ -1230,6 +1230,71 @@ class DefaultServiceRegistryTest extends Specification {
         1 * service3.close()
     }
 
+    def "locates the same service instance on repeated lookups from a child registry"() {
+        def parent = new DefaultServiceRegistry()
+        parent.addProvider(new TestProvider())
+        def child = new DefaultServiceRegistry(parent)
+
+        expect:
+        child.get(Integer).is(child.get(Integer))
+        child.get(String) == "12"
+        child.find(StringBuilder) == null
+        child.find(StringBuilder) == null
+    }
+
+    def "does not cache lookups when a parent is not a DefaultServiceRegistry"() {
+        def parent = Mock(ServiceRegistry)
+        def registry = new DefaultServiceRegistry(parent)
+
+        when:
+        def first = registry.get(BigDecimal)
+        def second = registry.get(BigDecimal)
+
+        then:
+        first == BigDecimal.ONE
+        second == BigDecimal.TEN
+
+        and:
+        2 * parent.get(BigDecimal) >>> [BigDecimal.ONE, BigDecimal.TEN]
+    }
+
+    def "cannot lookup a previously located service after close"() {
+        registry.addProvider(new TestProvider())
+        registry.get(Integer)
+        registry.close()
+
+        when:
+        registry.get(Integer)
+
+        then:
+        IllegalStateException e = thrown()
+        e.message == "TestRegistry has been closed."
+    }
+
+    def "child registry cannot lookup a previously located service after an ancestor is closed"() {
+        def grandParent = new DefaultServiceRegistry("GrandParent")
+        grandParent.addProvider(new TestProvider())
+        def parent = new DefaultServiceRegistry("Parent", grandParent)
+        def child = new DefaultServiceRegistry("Child", parent)
+        child.get(Integer)
+        child.find(StringBuilder)
+        grandParent.close()
+
+        when:
+        child.get(Integer)
+
+        then:
+        IllegalStateException e = thrown()
+        e.message == "GrandParent has been closed."
+
+        when:
+        child.find(StringBuilder)
+
+        then:
+        e = thrown()
+        e.message == "GrandParent has been closed."
+    }
+
     def "cannot add provider after getting a service via class"() {
         when:
         registry.get(Integer)
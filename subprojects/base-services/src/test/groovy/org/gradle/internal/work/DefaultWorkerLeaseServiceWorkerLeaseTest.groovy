@@ -76,6 +76,39 @@ class DefaultWorkerLeaseServiceWorkerLeaseTest extends ConcurrentSpec {
         registry?.stop()
     }
 
+    def "operation start blocks while running low on memory"() {
+        def registry = workerLeaseService(2)
+        registry.onMemoryPressureChange(true)
+
+        when:
+        async {
+            start {
+                def cl = registry.getWorkerLease().start()
+                instant.worker1
+                thread.blockUntil.worker2
+                cl.leaseFinish()
+            }
+            start {
+                thread.blockUntil.worker1
+                thread.block()
+                instant.memoryAvailable
+                registry.onMemoryPressureChange(false)
+            }
+            start {
+                thread.blockUntil.worker1
+                def cl = registry.getWorkerLease().start()
+                instant.worker2
+                cl.leaseFinish()
+            }
+        }
+
+        then:
+        instant.worker2 > instant.memoryAvailable
+
+        cleanup:
+        registry?.stop()
+    }
+
     def "child operation starts immediately when there are sufficient leases available"() {
         def registry = workerLeaseService(1)
 
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.changedetection.state;
+
+import org.gradle.api.internal.cache.StringInterner;
+import org.gradle.internal.hash.Hashing;
+import org.gradle.internal.serialize.kryo.KryoBackedDecoder;
+import org.gradle.internal.serialize.kryo.KryoBackedEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.gradle.api.internal.changedetection.state.TaskFilePropertyCompareStrategy.UNORDERED;
+
+/**
+ * Writes and reads the snapshot of a source tree, as stored in the task history for the inputs of a compile task.
+ */
+@Fork(2)
+@Warmup(iterations = 10)
+@State(Scope.Benchmark)
+public class FileCollectionSnapshotSerializerBenchmark {
+
+    @Param({"100", "10000"})
+    int fileCount;
+
+    private final DefaultFileCollectionSnapshot.SerializerImpl serializer = new DefaultFileCollectionSnapshot.SerializerImpl(new StringInterner());
+    private DefaultFileCollectionSnapshot snapshot;
+    private byte[] serialized;
+
+    @Setup
+    public void setup() throws Exception {
+        Map<String, NormalizedFileSnapshot> snapshots = new LinkedHashMap<String, NormalizedFileSnapshot>();
+        String root = "/home/user/workspace/project/subproject/src/main/java";
+        snapshots.put(root, new DefaultNormalizedFileSnapshot("", DirContentSnapshot.getInstance()));
+        for (int i = 0; i < fileCount; i++) {
+            String relativePath = "org/gradle/internal/package" + (i / 20) + "/SomeClass" + i + ".java";
+            snapshots.put(root + "/" + relativePath, new DefaultNormalizedFileSnapshot(relativePath, new FileHashSnapshot(Hashing.md5().hashString(relativePath))));
+        }
+        snapshot = new DefaultFileCollectionSnapshot(snapshots, UNORDERED, true);
+        serialized = write();
+    }
+
+    @Benchmark
+    public byte[] write() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        KryoBackedEncoder encoder = new KryoBackedEncoder(outputStream);
+        serializer.write(encoder, snapshot);
+        encoder.flush();
+        return outputStream.toByteArray();
+    }
+
+    @Benchmark
+    public DefaultFileCollectionSnapshot read() throws Exception {
+        return serializer.read(new KryoBackedDecoder(new ByteArrayInputStream(serialized)));
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.internal.metaobject;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Typical DSL access patterns: reading and writing a known property, and probing for a property the bean does not have,
+ * as happens when a name is resolved through a chain of dynamic objects.
+ */
+@Fork(2)
+@Warmup(iterations = 10)
+@State(Scope.Benchmark)
+public class BeanDynamicObjectBenchmark {
+
+    private final Options options = new Options();
+    private final BeanDynamicObject dynamicObject = new BeanDynamicObject(options);
+
+    @Benchmark
+    public void getKnownProperty(Blackhole bh) {
+        bh.consume(dynamicObject.tryGetProperty("encoding"));
+    }
+
+    @Benchmark
+    public void setKnownProperty(Blackhole bh) {
+        bh.consume(dynamicObject.trySetProperty("encoding", "UTF-8"));
+    }
+
+    @Benchmark
+    public void getMissingProperty(Blackhole bh) {
+        bh.consume(dynamicObject.tryGetProperty("sourceCompatibility"));
+    }
+
+    @Benchmark
+    public void hasMissingProperty(Blackhole bh) {
+        bh.consume(dynamicObject.hasProperty("sourceCompatibility"));
+    }
+
+    public static class Options {
+        private String encoding;
+
+        public String getEncoding() {
+            return encoding;
+        }
+
+        public void setEncoding(String encoding) {
+            this.encoding = encoding;
+        }
+    }
+}
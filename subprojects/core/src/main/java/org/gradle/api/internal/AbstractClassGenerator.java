@@ -28,6 +28,8 @@ import org.gradle.api.NonExtensible;
 import org.gradle.api.plugins.ExtensionAware;
 import org.gradle.api.provider.HasMultipleValues;
 import org.gradle.api.provider.Property;
+import org.gradle.cache.internal.ProducerGuard;
+import org.gradle.internal.Factory;
 import org.gradle.internal.reflect.ClassDetails;
 import org.gradle.internal.reflect.ClassInspector;
 import org.gradle.internal.reflect.DirectInstantiator;
@@ -68,22 +70,52 @@ import java.util.concurrent.locks.ReentrantLock;
 public abstract class AbstractClassGenerator implements ClassGenerator {
     private static final Map<Class<?>, Map<Class<?>, Class<?>>> GENERATED_CLASSES = new HashMap<Class<?>, Map<Class<?>, Class<?>>>();
     private static final Lock CACHE_LOCK = new ReentrantLock();
+    private static final ProducerGuard<Class<?>> GENERATION_GUARD = ProducerGuard.adaptive();
     private static final Collection<String> SKIP_PROPERTIES = Arrays.asList("class", "metaClass", "conventionMapping", "convention", "asDynamicObject", "extensions");
 
     public <T> T newInstance(Class<T> type, Object... parameters) {
         return DirectInstantiator.instantiate(generate(type), parameters);
     }
 
-    public <T> Class<? extends T> generate(Class<T> type) {
+    public <T> Class<? extends T> generate(final Class<T> type) {
+        Class<?> generatedClass = findGeneratedClass(type);
+        if (generatedClass != null) {
+            return generatedClass.asSubclass(type);
+        }
+        // Generate outside of the cache lock, so that different types can be generated concurrently. Only a single thread
+        // generates a given type, as defining the same class more than once would fail
+        return GENERATION_GUARD.guardByKey(type, new Factory<Class<? extends T>>() {
+            @Override
+            public Class<? extends T> create() {
+                Class<?> generatedClass = findGeneratedClass(type);
+                if (generatedClass != null) {
+                    return generatedClass.asSubclass(type);
+                }
+                Class<? extends T> subclass = generateClass(type);
+                CACHE_LOCK.lock();
+                try {
+                    Map<Class<?>, Class<?>> cache = getCache();
+                    cache.put(type, subclass);
+                    cache.put(subclass, subclass);
+                } finally {
+                    CACHE_LOCK.unlock();
+                }
+                return subclass;
+            }
+        });
+    }
+
+    @Nullable
+    private Class<?> findGeneratedClass(Class<?> type) {
+        CACHE_LOCK.lock();
         try {
-            CACHE_LOCK.lock();
-            return generateUnderLock(type);
+            return getCache().get(type);
         } finally {
             CACHE_LOCK.unlock();
         }
     }
 
-    private <T> Class<? extends T> generateUnderLock(Class<T> type) {
+    private Map<Class<?>, Class<?>> getCache() {
         Map<Class<?>, Class<?>> cache = GENERATED_CLASSES.get(getClass());
         if (cache == null) {
             // WeakHashMap won't work here. It keeps a strong reference to the mapping value, which is the generated class in this case
@@ -92,11 +124,10 @@ public abstract class AbstractClassGenerator implements ClassGenerator {
             cache = new ReferenceMap(AbstractReferenceMap.WEAK, AbstractReferenceMap.WEAK);
             GENERATED_CLASSES.put(getClass(), cache);
         }
-        Class<?> generatedClass = cache.get(type);
-        if (generatedClass != null) {
-            return generatedClass.asSubclass(type);
-        }
+        return cache;
+    }
 
+    private <T> Class<? extends T> generateClass(Class<T> type) {
         int modifiers = type.getModifiers();
         if (Modifier.isPrivate(modifiers)) {
             throw new GradleException(String.format("Cannot create a proxy class for private class '%s'.",
@@ -227,9 +258,6 @@ public abstract class AbstractClassGenerator implements ClassGenerator {
         } catch (Throwable e) {
             throw new GradleException(String.format("Could not generate a proxy class for class %s.", type.getName()), e);
         }
-
-        cache.put(type, subclass);
-        cache.put(subclass, subclass);
         return subclass;
     }
 
@@ -18,6 +18,7 @@ package org.gradle.api.internal.changedetection.state;
 
 import org.gradle.api.internal.tasks.execution.TaskOutputChangesListener;
 import org.gradle.initialization.RootBuildLifecycleListener;
+import org.gradle.initialization.SessionLifecycleListener;
 import org.gradle.internal.classpath.CachedJarFileStore;
 import org.gradle.internal.file.DefaultFileHierarchySet;
 import org.gradle.internal.file.FileHierarchySet;
@@ -42,6 +43,19 @@ public class DefaultFileSystemMirror implements FileSystemMirror, TaskOutputChan
     private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<String, Snapshot>();
     private final Map<String, Snapshot> cacheSnapshots = new ConcurrentHashMap<String, Snapshot>();
     private final FileHierarchySet cachedDirectories;
+    private final SessionLifecycleListener sessionLifecycleListener = new SessionLifecycleListener() {
+        @Override
+        public void afterStart() {
+        }
+
+        @Override
+        public void beforeComplete() {
+            // We throw away the state for the append-only caches between sessions
+            cacheFiles.clear();
+            cacheTrees.clear();
+            cacheSnapshots.clear();
+        }
+    };
 
     public DefaultFileSystemMirror(List<CachedJarFileStore> fileStores) {
         FileHierarchySet cachedDirectories = DefaultFileHierarchySet.of();
@@ -53,6 +67,13 @@ public class DefaultFileSystemMirror implements FileSystemMirror, TaskOutputChan
         this.cachedDirectories = cachedDirectories;
     }
 
+    /**
+     * Returns the listener that discards the state for files that live in an append-only cache at the end of the session.
+     */
+    public SessionLifecycleListener getSessionLifecycleListener() {
+        return sessionLifecycleListener;
+    }
+
     @Nullable
     @Override
     public FileSnapshot getFile(String path) {
@@ -129,12 +150,11 @@ public class DefaultFileSystemMirror implements FileSystemMirror, TaskOutputChan
 
     @Override
     public void beforeComplete() {
-        // We throw away all state between builds
+        // We throw away the state for files that do not live in an append-only cache between builds.
+        // The state for the caches is kept until the end of the session, so that each build of a continuous build
+        // does not need to snapshot the same dependencies again
         files.clear();
-        cacheFiles.clear();
         trees.clear();
-        cacheTrees.clear();
         snapshots.clear();
-        cacheSnapshots.clear();
     }
 }
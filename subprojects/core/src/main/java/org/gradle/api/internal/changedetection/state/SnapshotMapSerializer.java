@@ -48,8 +48,10 @@ public class SnapshotMapSerializer extends AbstractSerializer<Map<String, Normal
     public Map<String, NormalizedFileSnapshot> read(Decoder decoder) throws Exception {
         int snapshotsCount = decoder.readSmallInt();
         Map<String, NormalizedFileSnapshot> snapshots = new LinkedHashMap<String, NormalizedFileSnapshot>(snapshotsCount);
+        String previousPath = "";
         for (int i = 0; i < snapshotsCount; i++) {
-            String absolutePath = stringInterner.intern(decoder.readString());
+            String absolutePath = stringInterner.intern(readPath(decoder, previousPath));
+            previousPath = absolutePath;
             NormalizedFileSnapshot snapshot = readSnapshot(absolutePath, decoder, stringInterner);
             snapshots.put(absolutePath, snapshot);
         }
@@ -93,13 +95,41 @@ public class SnapshotMapSerializer extends AbstractSerializer<Map<String, Normal
     @Override
     public void write(Encoder encoder, Map<String, NormalizedFileSnapshot> value) throws Exception {
         encoder.writeSmallInt(value.size());
+        String previousPath = "";
         for (String key : value.keySet()) {
-            encoder.writeString(key);
+            writePath(encoder, previousPath, key);
+            previousPath = key;
             NormalizedFileSnapshot snapshot = value.get(key);
             writeSnapshot(encoder, snapshot);
         }
     }
 
+    /**
+     * The absolute paths are written in the order the files were visited, so consecutive paths usually share a long prefix.
+     * Only the length of the prefix shared with the previous path and the remaining suffix are written.
+     */
+    private static void writePath(Encoder encoder, String previousPath, String path) throws IOException {
+        int maxLength = Math.min(previousPath.length(), path.length());
+        int commonLength = 0;
+        while (commonLength < maxLength && previousPath.charAt(commonLength) == path.charAt(commonLength)) {
+            commonLength++;
+        }
+        encoder.writeSmallInt(commonLength);
+        encoder.writeString(path.substring(commonLength));
+    }
+
+    private static String readPath(Decoder decoder, String previousPath) throws IOException {
+        int commonLength = decoder.readSmallInt();
+        String suffix = decoder.readString();
+        if (commonLength == 0) {
+            return suffix;
+        }
+        if (commonLength > previousPath.length()) {
+            throw new RuntimeException("Unable to read serialized file snapshot. Unrecognized value found in the data stream.");
+        }
+        return previousPath.substring(0, commonLength).concat(suffix);
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (!super.equals(obj)) {
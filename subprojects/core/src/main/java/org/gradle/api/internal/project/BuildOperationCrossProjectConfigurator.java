@@ -98,6 +98,7 @@ public class BuildOperationCrossProjectConfigurator implements CrossProjectConfi
             @Override
             public void run(BuildOperationContext context) {
                 ConfigureUtil.configure(configureClosure, project);
+                context.setResult(CrossConfigureProjectBuildOperationType.RESULT);
             }
         });
     }
@@ -107,6 +108,7 @@ public class BuildOperationCrossProjectConfigurator implements CrossProjectConfi
             @Override
             public void run(BuildOperationContext context) {
                 Actions.with(project, configureAction);
+                context.setResult(CrossConfigureProjectBuildOperationType.RESULT);
             }
         });
     }
@@ -149,16 +151,17 @@ public class BuildOperationCrossProjectConfigurator implements CrossProjectConfi
     }
 
     private static abstract class CrossConfigureProjectBuildOperation implements RunnableBuildOperation {
-        private Project project;
+        private final ProjectInternal project;
 
         private CrossConfigureProjectBuildOperation(Project project) {
-            this.project = project;
+            this.project = (ProjectInternal) project;
         }
 
         @Override
         public BuildOperationDescriptor.Builder description() {
-            String name = "Cross-configure project " + ((ProjectInternal) project).getIdentityPath().toString();
-            return BuildOperationDescriptor.displayName(name);
+            String name = "Cross-configure project " + project.getIdentityPath().toString();
+            return BuildOperationDescriptor.displayName(name)
+                .details(new CrossConfigureProjectBuildOperationType.DetailsImpl(project.getProjectPath(), project.getGradle().getIdentityPath()));
         }
     }
 }
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.api.internal.project;
+
+import org.gradle.internal.operations.BuildOperationType;
+import org.gradle.util.Path;
+
+/**
+ * Configuration of a project from the build logic of another project, via {@code project(path) {}},
+ * {@code allprojects {}}, {@code subprojects {}} or {@code rootProject {}}.
+ *
+ * The parent of such an operation identifies the project whose build logic performed the access.
+ * Listing these operations shows which cross-project accesses couple the configuration of projects together.
+ *
+ * @since 4.8
+ */
+public final class CrossConfigureProjectBuildOperationType implements BuildOperationType<CrossConfigureProjectBuildOperationType.Details, CrossConfigureProjectBuildOperationType.Result> {
+
+    public interface Details {
+
+        /**
+         * The path of the project being configured.
+         */
+        String getProjectPath();
+
+        String getBuildPath();
+
+    }
+
+    public interface Result {
+
+    }
+
+    static class DetailsImpl implements Details {
+
+        private final Path projectPath;
+        private final Path buildPath;
+
+        DetailsImpl(Path projectPath, Path buildPath) {
+            this.projectPath = projectPath;
+            this.buildPath = buildPath;
+        }
+
+        public String getProjectPath() {
+            return projectPath.getPath();
+        }
+
+        public String getBuildPath() {
+            return buildPath.getPath();
+        }
+
+    }
+
+    final static Result RESULT = new Result() {
+    };
+
+    private CrossConfigureProjectBuildOperationType() {
+    }
+
+}
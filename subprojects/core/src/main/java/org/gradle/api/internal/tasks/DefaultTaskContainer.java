@@ -366,6 +366,11 @@ public class DefaultTaskContainer extends DefaultTaskCollection<Task> implements
         return allNames;
     }
 
+    @Override
+    public boolean hasTaskWithName(String name) {
+        return hasWithName(name) || placeholders.contains(name);
+    }
+
     public void realize() {
         project.getModelRegistry().realizeNode(modelNode.getPath());
     }
@@ -47,6 +47,13 @@ public interface TaskContainerInternal extends TaskContainer, TaskResolver, Poly
      */
     void discoverTasks();
 
+    /**
+     * Returns true when a task with the given name has been created or registered, without creating or configuring any tasks.
+     *
+     * This is equivalent to {@code getNames().contains(name)} but does not need to collect the names of all tasks.
+     */
+    boolean hasTaskWithName(String name);
+
     /**
      * Ensures that all configuration has been applied to the given task, and the task is ready to be added to the task graph.
      */
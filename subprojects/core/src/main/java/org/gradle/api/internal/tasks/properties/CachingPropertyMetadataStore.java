@@ -0,0 +1,45 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.api.internal.tasks.properties;
+
+import org.gradle.api.Transformer;
+import org.gradle.cache.internal.CrossBuildInMemoryCache;
+import org.gradle.cache.internal.CrossBuildInMemoryCacheFactory;
+
+/**
+ * A {@link PropertyMetadataStore} that retains the metadata of each type across builds, so that task types are only inspected once per daemon.
+ */
+public class CachingPropertyMetadataStore implements PropertyMetadataStore {
+    private final CrossBuildInMemoryCache<Class<?>, TypeMetadata> cache;
+    private final Transformer<TypeMetadata, Class<?>> extractor;
+
+    public CachingPropertyMetadataStore(final PropertyMetadataStore delegate, CrossBuildInMemoryCacheFactory cacheFactory) {
+        this.cache = cacheFactory.newClassCache();
+        this.extractor = new Transformer<TypeMetadata, Class<?>>() {
+            @Override
+            public TypeMetadata transform(Class<?> type) {
+                return delegate.getTypeMetadata(type);
+            }
+        };
+    }
+
+    @Override
+    public <T> TypeMetadata getTypeMetadata(Class<T> type) {
+        return cache.get(type, extractor);
+    }
+}
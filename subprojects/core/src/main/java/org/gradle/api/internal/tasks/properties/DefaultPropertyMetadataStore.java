@@ -19,9 +19,6 @@ package org.gradle.api.internal.tasks.properties;
 import com.google.common.base.Function;
 import com.google.common.base.Joiner;
 import com.google.common.base.Predicate;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSetMultimap;
 import com.google.common.collect.Iterables;
@@ -78,6 +75,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+/**
+ * Extracts the {@link TypeMetadata} of a type by inspecting its annotated getters and fields. Does not cache results, see {@link CachingPropertyMetadataStore}.
+ */
 public class DefaultPropertyMetadataStore implements PropertyMetadataStore {
     // Avoid reflecting on classes we know we don't need to look at
     @SuppressWarnings("RedundantTypeArguments")
@@ -106,14 +106,6 @@ public class DefaultPropertyMetadataStore implements PropertyMetadataStore {
     private final Map<Class<? extends Annotation>, PropertyAnnotationHandler> annotationHandlers;
     private final Multimap<Class<? extends Annotation>, Class<? extends Annotation>> annotationOverrides;
     private final Set<Class<? extends Annotation>> relevantAnnotationTypes;
-    private final LoadingCache<Class<?>, TypeMetadata> cache = CacheBuilder.newBuilder()
-        .weakKeys()
-        .build(new CacheLoader<Class<?>, TypeMetadata>() {
-            @Override
-            public TypeMetadata load(@Nonnull Class<?> type) {
-                return createTypeMetadata(type);
-            }
-        });
 
     public DefaultPropertyMetadataStore(Iterable<? extends PropertyAnnotationHandler> customAnnotationHandlers) {
         Iterable<PropertyAnnotationHandler> allAnnotationHandlers = Iterables.concat(HANDLERS, customAnnotationHandlers);
@@ -149,7 +141,7 @@ public class DefaultPropertyMetadataStore implements PropertyMetadataStore {
 
     @Override
     public <T> TypeMetadata getTypeMetadata(Class<T> type) {
-        return cache.getUnchecked(type);
+        return createTypeMetadata(type);
     }
 
     private <T> TypeMetadata createTypeMetadata(Class<T> type) {
@@ -34,7 +34,9 @@ import org.gradle.api.tasks.InputFile;
 import org.gradle.api.tasks.InputFiles;
 import org.gradle.api.tasks.Nested;
 import org.gradle.api.tasks.PathSensitive;
+import org.gradle.cache.internal.CrossBuildInMemoryCacheFactory;
 import org.gradle.internal.Cast;
+import org.gradle.internal.event.DefaultListenerManager;
 
 import javax.annotation.Nullable;
 import java.io.File;
@@ -61,9 +63,10 @@ public class PropertyValidationAccess {
     @SuppressWarnings("unused")
     public static void collectTaskValidationProblems(Class<?> topLevelBean, Map<String, Boolean> problems) {
         DefaultTaskClassInfoStore taskClassInfoStore = new DefaultTaskClassInfoStore();
-        PropertyMetadataStore metadataStore = new DefaultPropertyMetadataStore(ImmutableList.of(
+        // Use a local cache, so that nested bean types shared by several properties are only inspected once per task type
+        PropertyMetadataStore metadataStore = new CachingPropertyMetadataStore(new DefaultPropertyMetadataStore(ImmutableList.of(
             new ClasspathPropertyAnnotationHandler(), new CompileClasspathPropertyAnnotationHandler()
-        ));
+        )), new CrossBuildInMemoryCacheFactory(new DefaultListenerManager()));
         Queue<BeanTypeNode<?>> queue = new ArrayDeque<BeanTypeNode<?>>();
         BeanTypeNodeFactory nodeFactory = new BeanTypeNodeFactory(metadataStore);
         queue.add(nodeFactory.createRootNode(TypeToken.of(topLevelBean)));
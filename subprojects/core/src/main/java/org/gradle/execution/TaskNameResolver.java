@@ -37,7 +37,7 @@ public class TaskNameResolver {
     public boolean tryFindUnqualifiedTaskCheaply(String name, ProjectInternal project) {
         // don't evaluate children, see if we know it's without validating it
         for (Project project1 : project.getAllprojects()) {
-            if (project1.getTasks().getNames().contains(name)) {
+            if (((ProjectInternal) project1).getTasks().hasTaskWithName(name)) {
                 return true;
             }
         }
@@ -106,7 +106,7 @@ public class TaskNameResolver {
     }
 
     private static boolean hasTask(String taskName, ProjectInternal project) {
-        return project.getTasks().getNames().contains(taskName) || project.getTasks().findByName(taskName) != null;
+        return project.getTasks().hasTaskWithName(taskName) || project.getTasks().findByName(taskName) != null;
     }
 
     private static TaskInternal getExistingTask(ProjectInternal project, String taskName) {
@@ -59,10 +59,11 @@ public class FileCacheBackedScriptClassCompiler implements ScriptClassCompiler,
     private final ScriptSourceHasher hasher;
     private final ClassLoaderCache classLoaderCache;
     private final ClassLoaderHierarchyHasher classLoaderHierarchyHasher;
+    private final ScriptClassBuildCache scriptClassBuildCache;
 
     public FileCacheBackedScriptClassCompiler(CacheRepository cacheRepository, CacheValidator validator, ScriptCompilationHandler scriptCompilationHandler,
                                               ProgressLoggerFactory progressLoggerFactory, ScriptSourceHasher hasher, ClassLoaderCache classLoaderCache,
-                                              ClassLoaderHierarchyHasher classLoaderHierarchyHasher) {
+                                              ClassLoaderHierarchyHasher classLoaderHierarchyHasher, ScriptClassBuildCache scriptClassBuildCache) {
         this.cacheRepository = cacheRepository;
         this.validator = validator;
         this.scriptCompilationHandler = scriptCompilationHandler;
@@ -70,6 +71,7 @@ public class FileCacheBackedScriptClassCompiler implements ScriptClassCompiler,
         this.hasher = hasher;
         this.classLoaderCache = classLoaderCache;
         this.classLoaderHierarchyHasher = classLoaderHierarchyHasher;
+        this.scriptClassBuildCache = scriptClassBuildCache;
     }
 
     @Override
@@ -100,14 +102,17 @@ public class FileCacheBackedScriptClassCompiler implements ScriptClassCompiler,
         // Both caches can be closed directly after use because:
         // For 1, if the script changes or its compile classpath changes, a different directory will be used
         // For 2, if the script changes, a different cache is used. If the classpath changes, the cache is invalidated, but classes are remapped to 1. anyway so never directly used
+        RemapBuildScriptsAction<M, T> remapAction = new RemapBuildScriptsAction<M, T>(remapped, classpathHash, sourceHash, dslId, classLoader, operation, verifier, scriptBaseClass);
         PersistentCache remappedClassesCache = cacheRepository.cache("scripts-remapped/" + source.getClassName() + "/" + sourceHash + "/" + classpathHash)
             .withDisplayName(dslId + " remapped class cache for " + sourceHash)
             .withValidator(validator)
-            .withInitializer(new ProgressReportingInitializer(progressLoggerFactory, new RemapBuildScriptsAction<M, T>(remapped, classpathHash, sourceHash, dslId, classLoader, operation, verifier, scriptBaseClass),
+            .withInitializer(new ProgressReportingInitializer(progressLoggerFactory, remapAction,
                 "Compiling script into cache",
                 "Compiling " + source.getFileName() + " into local compilation cache"))
             .open();
         remappedClassesCache.close();
+        // Store freshly compiled classes once the script caches have been released, so that other builds are not blocked while the entry is uploaded
+        remapAction.storeCompiledClasses();
 
         File remappedClassesDir = classesDir(remappedClassesCache);
         File remappedMetadataDir = metadataDir(remappedClassesCache);
@@ -137,10 +142,17 @@ public class FileCacheBackedScriptClassCompiler implements ScriptClassCompiler,
         private final ClassLoader classLoader;
         private final CompileOperation<?> transformer;
         private final ScriptSource source;
+        private final String sourceHash;
+        private final String dslId;
+        private final String classpathHash;
+        private boolean compiled;
 
-        public <T extends Script> CompileToCrossBuildCacheAction(ScriptSource source, ClassLoader classLoader, CompileOperation<?> transformer,
+        public <T extends Script> CompileToCrossBuildCacheAction(ScriptSource source, String sourceHash, String dslId, String classpathHash, ClassLoader classLoader, CompileOperation<?> transformer,
                                                                  Action<? super ClassNode> verifier, Class<T> scriptBaseClass) {
             this.source = source;
+            this.sourceHash = sourceHash;
+            this.dslId = dslId;
+            this.classpathHash = classpathHash;
             this.classLoader = classLoader;
             this.transformer = transformer;
             this.verifier = verifier;
@@ -150,7 +162,15 @@ public class FileCacheBackedScriptClassCompiler implements ScriptClassCompiler,
         public void execute(PersistentCache cache) {
             File classesDir = classesDir(cache);
             File metadataDir = metadataDir(cache);
+            if (scriptClassBuildCache.load(sourceHash, dslId, classpathHash, classesDir, metadataDir)) {
+                return;
+            }
             scriptCompilationHandler.compileToDir(source, classLoader, classesDir, metadataDir, transformer, scriptBaseClass, verifier);
+            compiled = true;
+        }
+
+        public boolean isCompiled() {
+            return compiled;
         }
     }
 
@@ -382,6 +402,7 @@ public class FileCacheBackedScriptClassCompiler implements ScriptClassCompiler,
         private final CompileOperation<M> operation;
         private final Action<? super ClassNode> verifier;
         private final Class<T> scriptBaseClass;
+        private PersistentCache compiledCache;
 
         public RemapBuildScriptsAction(RemappingScriptSource remapped, String classpathHash, String sourceHash, String dslId, ClassLoader classLoader, CompileOperation<M> operation, Action<? super ClassNode> verifier, Class<T> scriptBaseClass) {
             this.classpathHash = classpathHash;
@@ -396,22 +417,36 @@ public class FileCacheBackedScriptClassCompiler implements ScriptClassCompiler,
         }
 
         public void execute(final PersistentCache remappedClassesCache) {
+            CompileToCrossBuildCacheAction compileAction = new CompileToCrossBuildCacheAction(remapped, sourceHash, dslId, classpathHash, classLoader, operation, verifier, scriptBaseClass);
             final PersistentCache cache = cacheRepository.cache("scripts/" + sourceHash + "/" + dslId + "/" + classpathHash)
                 .withValidator(validator)
                 .withDisplayName(dslId + " generic class cache for " + source.getDisplayName())
                 .withInitializer(new ProgressReportingInitializer(
                     progressLoggerFactory,
-                    new CompileToCrossBuildCacheAction(remapped, classLoader, operation, verifier, scriptBaseClass),
+                    compileAction,
                     "Compiling script into cache",
                     "Compiling " + source.getDisplayName() + " to cross build script cache"))
                 .open();
             cache.close();
+            if (compileAction.isCompiled()) {
+                compiledCache = cache;
+            }
             final File genericClassesDir = classesDir(cache);
             final File metadataDir = metadataDir(cache);
             remapClasses(genericClassesDir, classesDir(remappedClassesCache), remapped);
             copyMetadata(metadataDir, metadataDir(remappedClassesCache));
         }
 
+        /**
+         * Stores the generic classes in the build cache, when they were compiled by this action. Must be called after the script caches have been closed.
+         */
+        public void storeCompiledClasses() {
+            if (compiledCache != null) {
+                scriptClassBuildCache.store(sourceHash, dslId, classpathHash, classesDir(compiledCache), metadataDir(compiledCache));
+                compiledCache = null;
+            }
+        }
+
         private void remapClasses(File scriptCacheDir, File relocalizedDir, RemappingScriptSource source) {
             ScriptSource origin = source.getSource();
             String className = origin.getClassName();
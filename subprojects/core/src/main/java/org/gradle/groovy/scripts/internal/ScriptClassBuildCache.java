@@ -0,0 +1,269 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.groovy.scripts.internal;
+
+import com.google.common.io.ByteStreams;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.caching.BuildCacheKey;
+import org.gradle.caching.internal.controller.BuildCacheController;
+import org.gradle.caching.internal.controller.BuildCacheLoadCommand;
+import org.gradle.caching.internal.controller.BuildCacheStoreCommand;
+import org.gradle.caching.internal.controller.RootBuildCacheControllerRef;
+import org.gradle.internal.hash.HashCode;
+import org.gradle.internal.hash.Hasher;
+import org.gradle.internal.hash.Hashing;
+import org.gradle.util.GFileUtils;
+import org.gradle.util.GradleVersion;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Loads and stores generic compiled script classes using the build cache of the root build, so that fresh machines do not need to recompile scripts.
+ *
+ * Only used when enabled via the {@value #ENABLED_PROPERTY} system property, and only once the build cache of the root build has been configured.
+ * Settings and init scripts are compiled before that happens and so are always compiled locally.
+ */
+public class ScriptClassBuildCache {
+    public static final String ENABLED_PROPERTY = "org.gradle.internal.scripts.buildcache";
+
+    private static final Logger LOGGER = Logging.getLogger(ScriptClassBuildCache.class);
+    private static final String CLASSES_DIR = "classes/";
+    private static final String METADATA_DIR = "metadata/";
+
+    private final RootBuildCacheControllerRef controllerRef;
+    private final boolean enabled;
+
+    public ScriptClassBuildCache(RootBuildCacheControllerRef controllerRef, boolean enabled) {
+        this.controllerRef = controllerRef;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Attempts to load the classes and metadata of a compiled script into the given directories.
+     *
+     * @return true when the classes were loaded, false when the script needs to be compiled.
+     */
+    public boolean load(String sourceHash, String dslId, String classpathHash, File classesDir, File metadataDir) {
+        BuildCacheController controller = controller();
+        if (controller == null) {
+            return false;
+        }
+        ScriptBuildCacheKey key = new ScriptBuildCacheKey(sourceHash, dslId, classpathHash);
+        try {
+            return controller.load(new LoadCommand(key, classesDir, metadataDir)) != null;
+        } catch (Exception e) {
+            LOGGER.warn("Could not load compiled script classes from {}, the script will be compiled.", key.getDisplayName(), e);
+            GFileUtils.deleteQuietly(classesDir);
+            GFileUtils.deleteQuietly(metadataDir);
+            return false;
+        }
+    }
+
+    /**
+     * Stores the classes and metadata of a compiled script.
+     */
+    public void store(String sourceHash, String dslId, String classpathHash, File classesDir, File metadataDir) {
+        BuildCacheController controller = controller();
+        if (controller == null) {
+            return;
+        }
+        controller.store(new StoreCommand(new ScriptBuildCacheKey(sourceHash, dslId, classpathHash), classesDir, metadataDir));
+    }
+
+    private BuildCacheController controller() {
+        if (!enabled || !controllerRef.isSet()) {
+            return null;
+        }
+        BuildCacheController controller = controllerRef.getForNonRootBuild();
+        return controller.isEnabled() ? controller : null;
+    }
+
+    private static class ScriptBuildCacheKey implements BuildCacheKey {
+        private final String hashCode;
+        private final String sourceHash;
+
+        ScriptBuildCacheKey(String sourceHash, String dslId, String classpathHash) {
+            Hasher hasher = Hashing.md5().newHasher();
+            hasher.putString(GradleVersion.current().getVersion());
+            hasher.putString(sourceHash);
+            hasher.putString(dslId);
+            hasher.putString(classpathHash);
+            HashCode hash = hasher.hash();
+            this.hashCode = hash.toString();
+            this.sourceHash = sourceHash;
+        }
+
+        @Override
+        public String getHashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public String getDisplayName() {
+            return "compiled script " + sourceHash + " (" + hashCode + ")";
+        }
+
+        @Override
+        public String toString() {
+            return getDisplayName();
+        }
+    }
+
+    private static class LoadCommand implements BuildCacheLoadCommand<Long> {
+        private final BuildCacheKey key;
+        private final File classesDir;
+        private final File metadataDir;
+
+        LoadCommand(BuildCacheKey key, File classesDir, File metadataDir) {
+            this.key = key;
+            this.classesDir = classesDir;
+            this.metadataDir = metadataDir;
+        }
+
+        @Override
+        public BuildCacheKey getKey() {
+            return key;
+        }
+
+        @Override
+        public Result<Long> load(InputStream inputStream) throws IOException {
+            GFileUtils.mkdirs(classesDir);
+            GFileUtils.mkdirs(metadataDir);
+            long entries = 0;
+            ZipInputStream zipInput = new ZipInputStream(inputStream);
+            try {
+                ZipEntry entry;
+                while ((entry = zipInput.getNextEntry()) != null) {
+                    File target = targetFor(entry.getName());
+                    GFileUtils.mkdirs(target.getParentFile());
+                    OutputStream output = new FileOutputStream(target);
+                    try {
+                        ByteStreams.copy(zipInput, output);
+                    } finally {
+                        output.close();
+                    }
+                    entries++;
+                }
+            } finally {
+                zipInput.close();
+            }
+            final long entryCount = entries;
+            return new Result<Long>() {
+                @Override
+                public long getArtifactEntryCount() {
+                    return entryCount;
+                }
+
+                @Override
+                public Long getMetadata() {
+                    return entryCount;
+                }
+            };
+        }
+
+        private File targetFor(String entryName) throws IOException {
+            File dir;
+            String fileName;
+            if (entryName.startsWith(CLASSES_DIR)) {
+                dir = classesDir;
+                fileName = entryName.substring(CLASSES_DIR.length());
+            } else if (entryName.startsWith(METADATA_DIR)) {
+                dir = metadataDir;
+                fileName = entryName.substring(METADATA_DIR.length());
+            } else {
+                throw new IOException("Unexpected entry '" + entryName + "' in compiled script cache entry.");
+            }
+            if (fileName.isEmpty() || fileName.startsWith("/") || fileName.endsWith("/") || fileName.contains("\\")) {
+                throw new IOException("Unexpected entry '" + entryName + "' in compiled script cache entry.");
+            }
+            for (String segment : fileName.split("/")) {
+                if (segment.isEmpty() || segment.equals(".") || segment.equals("..")) {
+                    throw new IOException("Unexpected entry '" + entryName + "' in compiled script cache entry.");
+                }
+            }
+            return new File(dir, fileName);
+        }
+    }
+
+    private static class StoreCommand implements BuildCacheStoreCommand {
+        private final BuildCacheKey key;
+        private final File classesDir;
+        private final File metadataDir;
+
+        StoreCommand(BuildCacheKey key, File classesDir, File metadataDir) {
+            this.key = key;
+            this.classesDir = classesDir;
+            this.metadataDir = metadataDir;
+        }
+
+        @Override
+        public BuildCacheKey getKey() {
+            return key;
+        }
+
+        @Override
+        public Result store(OutputStream outputStream) throws IOException {
+            ZipOutputStream zipOutput = new ZipOutputStream(outputStream);
+            final long entryCount;
+            try {
+                entryCount = addFiles(zipOutput, CLASSES_DIR, classesDir) + addFiles(zipOutput, METADATA_DIR, metadataDir);
+            } finally {
+                zipOutput.close();
+            }
+            return new Result() {
+                @Override
+                public long getArtifactEntryCount() {
+                    return entryCount;
+                }
+            };
+        }
+
+        private static long addFiles(ZipOutputStream zipOutput, String prefix, File dir) throws IOException {
+            File[] files = dir.listFiles();
+            if (files == null) {
+                return 0;
+            }
+            long count = 0;
+            for (File file : files) {
+                if (file.isDirectory()) {
+                    count += addFiles(zipOutput, prefix + file.getName() + "/", file);
+                    continue;
+                }
+                zipOutput.putNextEntry(new ZipEntry(prefix + file.getName()));
+                InputStream input = new FileInputStream(file);
+                try {
+                    ByteStreams.copy(input, zipOutput);
+                } finally {
+                    input.close();
+                }
+                zipOutput.closeEntry();
+                count++;
+            }
+            return count;
+        }
+    }
+}
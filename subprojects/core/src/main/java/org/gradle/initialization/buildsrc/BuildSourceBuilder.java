@@ -31,6 +31,7 @@ import org.gradle.initialization.NestedBuildFactory;
 import org.gradle.internal.build.BuildStateRegistry;
 import org.gradle.internal.classpath.CachedClasspathTransformer;
 import org.gradle.internal.classpath.ClassPath;
+import org.gradle.internal.classpath.DefaultClassPath;
 import org.gradle.internal.invocation.BuildController;
 import org.gradle.internal.invocation.GradleBuildController;
 import org.gradle.internal.operations.BuildOperationContext;
@@ -43,6 +44,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.util.Collection;
 
 import static org.gradle.cache.internal.filelock.LockOptionsBuilder.mode;
 
@@ -59,6 +61,7 @@ public class BuildSourceBuilder {
     private final CachedClasspathTransformer cachedClasspathTransformer;
     private final BuildSrcBuildListenerFactory buildSrcBuildListenerFactory;
     private final BuildStateRegistry buildRegistry;
+    private final boolean skipUpToDateBuild = Boolean.getBoolean(BuildSrcClasspathSnapshot.ENABLED_PROPERTY);
 
     public BuildSourceBuilder(NestedBuildFactory nestedBuildFactory, ClassLoaderScope classLoaderScope, FileLockManager fileLockManager, BuildOperationExecutor buildOperationExecutor, CachedClasspathTransformer cachedClasspathTransformer, BuildSrcBuildListenerFactory buildSrcBuildListenerFactory, BuildStateRegistry buildRegistry) {
         this.nestedBuildFactory = nestedBuildFactory;
@@ -116,6 +119,25 @@ public class BuildSourceBuilder {
     }
 
     private ClassPath buildBuildSrc(BuildDefinition buildDefinition) {
+        File lockTarget = new File(buildDefinition.getBuildRootDir(), ".gradle/noVersion/buildSrc");
+        FileLock lock = fileLockManager.lock(lockTarget, LOCK_OPTIONS, "buildSrc build lock");
+        try {
+            BuildSrcClasspathSnapshot classpathSnapshot = new BuildSrcClasspathSnapshot(buildDefinition.getBuildRootDir(), buildDefinition.getStartParameter(), skipUpToDateBuild);
+            Collection<File> previousClasspath = classpathSnapshot.loadClasspathIfUpToDate();
+            if (previousClasspath != null) {
+                // The buildSrc projects are not registered with the build registry here, as no buildSrc project is created. The registration
+                // is used to resolve project dependencies between the buildSrc projects, which only happens while the buildSrc build runs.
+                // Projects of the containing build cannot depend on buildSrc projects, and buildSrc is not part of the IDE models.
+                LOGGER.info("Skipping build of {} as it is up-to-date.", buildDefinition.getBuildRootDir());
+                return cachedClasspathTransformer.transform(DefaultClassPath.of(previousClasspath));
+            }
+            return runBuildSrcBuild(buildDefinition, classpathSnapshot);
+        } finally {
+            lock.close();
+        }
+    }
+
+    private ClassPath runBuildSrcBuild(BuildDefinition buildDefinition, BuildSrcClasspathSnapshot classpathSnapshot) {
         final BuildController buildController = createBuildController(buildDefinition);
         try {
             buildController.getGradle().rootProject(new Action<Project>() {
@@ -124,13 +146,7 @@ public class BuildSourceBuilder {
                     buildRegistry.addNestedBuild(buildController.getGradle().getSettings());
                 }
             });
-            File lockTarget = new File(buildDefinition.getBuildRootDir(), ".gradle/noVersion/buildSrc");
-            FileLock lock = fileLockManager.lock(lockTarget, LOCK_OPTIONS, "buildSrc build lock");
-            try {
-                return new BuildSrcUpdateFactory(buildController, buildSrcBuildListenerFactory, cachedClasspathTransformer).create();
-            } finally {
-                lock.close();
-            }
+            return new BuildSrcUpdateFactory(buildController, buildSrcBuildListenerFactory, cachedClasspathTransformer, classpathSnapshot).create();
         } finally {
             buildController.stop();
         }
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.initialization.buildsrc;
+
+import org.gradle.StartParameter;
+import org.gradle.api.Project;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.initialization.IGradlePropertiesLoader;
+import org.gradle.internal.hash.HashCode;
+import org.gradle.internal.hash.Hasher;
+import org.gradle.internal.hash.Hashing;
+import org.gradle.internal.jvm.Jvm;
+import org.gradle.util.GFileUtils;
+import org.gradle.util.GUtil;
+import org.gradle.util.GradleVersion;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Records the inputs and the resulting runtime classpath of the most recent buildSrc build, so that the nested build can be skipped when nothing has changed.
+ *
+ * <p>The inputs are the files of buildSrc, except the {@code build} and {@code .gradle} directories of each of its projects, along with the sources of Gradle
+ * and project properties and the init scripts. A project directory is recognized by its build script or its {@code src} directory, and custom build directories are not
+ * recognized.</p>
+ *
+ * <p>Files are compared using their path, length and modification time. The resolved versions of external dependencies are not checked, so dynamic and changing
+ * dependencies of buildSrc are not refreshed while the build is skipped. For this reason, the check is only enabled when the {@value #ENABLED_PROPERTY} system property is set,
+ * and it is bypassed when dependencies are refreshed or tasks are rerun.</p>
+ */
+public class BuildSrcClasspathSnapshot {
+    public static final String ENABLED_PROPERTY = "org.gradle.internal.buildsrc.skipUpToDate";
+
+    private static final Logger LOGGER = Logging.getLogger(BuildSrcClasspathSnapshot.class);
+    private static final String INPUTS_KEY = "inputs";
+    private static final String CLASSPATH_KEY_PREFIX = "classpath.";
+    private static final String CLASSPATH_HASH_KEY_PREFIX = "classpathHash.";
+
+    private final File buildSrcDir;
+    private final File stateFile;
+    private final StartParameter startParameter;
+    private final Jvm jvm;
+    private final Map<String, String> environment;
+    private final boolean enabled;
+    private HashCode inputsHash;
+
+    public BuildSrcClasspathSnapshot(File buildSrcDir, StartParameter startParameter, boolean enabled) {
+        this(buildSrcDir, startParameter, Jvm.current(), System.getenv(), enabled);
+    }
+
+    BuildSrcClasspathSnapshot(File buildSrcDir, StartParameter startParameter, Jvm jvm, Map<String, String> environment, boolean enabled) {
+        this.buildSrcDir = buildSrcDir;
+        this.stateFile = new File(buildSrcDir, ".gradle/noVersion/buildSrc-classpath.properties");
+        this.startParameter = startParameter;
+        this.jvm = jvm;
+        this.environment = environment;
+        this.enabled = enabled && !startParameter.isRefreshDependencies() && !startParameter.isRerunTasks();
+    }
+
+    /**
+     * Returns the runtime classpath of the previous buildSrc build, or null when the build needs to run.
+     */
+    @Nullable
+    public Collection<File> loadClasspathIfUpToDate() {
+        if (!enabled || !stateFile.isFile()) {
+            return null;
+        }
+        Properties state = GUtil.loadProperties(stateFile);
+        if (!getInputsHash().toString().equals(state.getProperty(INPUTS_KEY))) {
+            LOGGER.info("The inputs of {} have changed since the last build.", buildSrcDir);
+            return null;
+        }
+        List<File> classpath = new ArrayList<File>();
+        for (int i = 0; state.containsKey(CLASSPATH_KEY_PREFIX + i); i++) {
+            File file = new File(state.getProperty(CLASSPATH_KEY_PREFIX + i));
+            if (!file.exists() || !hashFiles(file).toString().equals(state.getProperty(CLASSPATH_HASH_KEY_PREFIX + i))) {
+                LOGGER.info("The classpath entry {} of {} has changed since the last build.", file, buildSrcDir);
+                return null;
+            }
+            classpath.add(file);
+        }
+        return classpath;
+    }
+
+    /**
+     * Records the runtime classpath produced by a buildSrc build.
+     */
+    public void store(Collection<File> classpath) {
+        if (!enabled) {
+            return;
+        }
+        Properties state = new Properties();
+        state.setProperty(INPUTS_KEY, getInputsHash().toString());
+        int i = 0;
+        for (File file : classpath) {
+            state.setProperty(CLASSPATH_KEY_PREFIX + i, file.getAbsolutePath());
+            state.setProperty(CLASSPATH_HASH_KEY_PREFIX + i, hashFiles(file).toString());
+            i++;
+        }
+        GFileUtils.mkdirs(stateFile.getParentFile());
+        GUtil.saveProperties(state, stateFile);
+    }
+
+    private HashCode getInputsHash() {
+        if (inputsHash == null) {
+            Hasher hasher = Hashing.md5().newHasher();
+            hasher.putString(GradleVersion.current().getVersion());
+            hasher.putString(jvm.getJavaHome().getAbsolutePath());
+            hasher.putString(String.valueOf(jvm.getJavaVersion()));
+            hasher.putBoolean(startParameter.isOffline());
+            putMap(hasher, startParameter.getProjectProperties());
+            putMap(hasher, startParameter.getSystemPropertiesArgs());
+            putMap(hasher, withPrefix(environment, IGradlePropertiesLoader.ENV_PROJECT_PROPERTIES_PREFIX));
+            putFile(hasher, new File(startParameter.getGradleUserHomeDir(), Project.GRADLE_PROPERTIES));
+            putFile(hasher, new File(buildSrcDir.getParentFile(), Project.GRADLE_PROPERTIES));
+            // Also hash the whole init script directory of the user home, in case a script there is not found by the start parameter
+            putFile(hasher, new File(startParameter.getGradleUserHomeDir(), "init.d"));
+            for (File initScript : startParameter.getAllInitScripts()) {
+                putFile(hasher, initScript);
+            }
+            putProjectDir(hasher, buildSrcDir);
+            inputsHash = hasher.hash();
+        }
+        return inputsHash;
+    }
+
+    private static void putProjectDir(Hasher hasher, File projectDir) {
+        for (File child : listSorted(projectDir)) {
+            // Skip the outputs and the persistent state of the project
+            if (child.isDirectory() && (child.getName().equals("build") || child.getName().equals(".gradle"))) {
+                continue;
+            }
+            putSourceFile(hasher, child);
+        }
+    }
+
+    private static void putSourceFile(Hasher hasher, File file) {
+        if (file.isDirectory() && isProjectDir(file)) {
+            hasher.putString(file.getAbsolutePath());
+            putProjectDir(hasher, file);
+        } else if (file.isDirectory()) {
+            hasher.putString(file.getAbsolutePath());
+            for (File child : listSorted(file)) {
+                putSourceFile(hasher, child);
+            }
+        } else {
+            putFile(hasher, file);
+        }
+    }
+
+    private static boolean isProjectDir(File dir) {
+        return new File(dir, "build.gradle").isFile() || new File(dir, "build.gradle.kts").isFile() || new File(dir, "src").isDirectory();
+    }
+
+    private static Map<String, String> withPrefix(Map<String, String> values, String prefix) {
+        Map<String, String> result = new TreeMap<String, String>();
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            if (entry.getKey().startsWith(prefix)) {
+                result.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    private static HashCode hashFiles(File file) {
+        Hasher hasher = Hashing.md5().newHasher();
+        putFile(hasher, file);
+        return hasher.hash();
+    }
+
+    private static void putMap(Hasher hasher, Map<String, String> values) {
+        for (Map.Entry<String, String> entry : new TreeMap<String, String>(values).entrySet()) {
+            hasher.putString(entry.getKey());
+            hasher.putString(String.valueOf(entry.getValue()));
+        }
+    }
+
+    private static void putFile(Hasher hasher, File file) {
+        hasher.putString(file.getAbsolutePath());
+        if (file.isDirectory()) {
+            for (File child : listSorted(file)) {
+                putFile(hasher, child);
+            }
+        } else {
+            hasher.putLong(file.length());
+            hasher.putLong(file.lastModified());
+        }
+    }
+
+    private static File[] listSorted(File dir) {
+        File[] children = dir.listFiles();
+        if (children == null) {
+            return new File[0];
+        }
+        Arrays.sort(children);
+        return children;
+    }
+}
@@ -34,16 +34,19 @@ public class BuildSrcUpdateFactory implements Factory<ClassPath> {
     private final BuildController buildController;
     private final BuildSrcBuildListenerFactory listenerFactory;
     private final CachedClasspathTransformer cachedClasspathTransformer;
+    private final BuildSrcClasspathSnapshot classpathSnapshot;
 
-    public BuildSrcUpdateFactory(BuildController buildController, BuildSrcBuildListenerFactory listenerFactory, CachedClasspathTransformer cachedClasspathTransformer) {
+    public BuildSrcUpdateFactory(BuildController buildController, BuildSrcBuildListenerFactory listenerFactory, CachedClasspathTransformer cachedClasspathTransformer, BuildSrcClasspathSnapshot classpathSnapshot) {
         this.buildController = buildController;
         this.listenerFactory = listenerFactory;
         this.cachedClasspathTransformer = cachedClasspathTransformer;
+        this.classpathSnapshot = classpathSnapshot;
     }
 
     public ClassPath create() {
         Collection<File> classpath = build();
         LOGGER.debug("Gradle source classpath is: {}", classpath);
+        classpathSnapshot.store(classpath);
         return cachedClasspathTransformer.transform(DefaultClassPath.of(classpath));
     }
 
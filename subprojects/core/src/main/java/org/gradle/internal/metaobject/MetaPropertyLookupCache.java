@@ -0,0 +1,110 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.internal.metaobject;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import groovy.lang.GroovySystem;
+import groovy.lang.MetaClassImpl;
+import groovy.lang.MetaClassRegistryChangeEvent;
+import groovy.lang.MetaClassRegistryChangeEventListener;
+import groovy.lang.MetaProperty;
+import org.gradle.internal.UncheckedException;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Caches the result of property lookups by name for {@link MetaClassImpl} instances, including lookups for properties that do not exist.
+ *
+ * <p>Only plain {@link MetaClassImpl} instances are cached, as their set of properties does not change once initialized. Subclasses such as
+ * {@link groovy.lang.ExpandoMetaClass} can have properties added at any time and are always looked up directly. Entries are
+ * keyed by meta-class identity, so replacing the meta-class of a type or object naturally misses the cache, and all entries are
+ * discarded whenever the meta-class registry reports a change.</p>
+ */
+class MetaPropertyLookupCache {
+    private static final Method META_PROP_METHOD;
+    private static final Object NOT_FOUND = new Object();
+
+    static {
+        try {
+            META_PROP_METHOD = MetaClassImpl.class.getDeclaredMethod("getMetaProperty", String.class, boolean.class);
+            META_PROP_METHOD.setAccessible(true);
+        } catch (Exception e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+
+    private final LoadingCache<MetaClassImpl, ConcurrentMap<String, Object>> properties = CacheBuilder.newBuilder()
+        .weakKeys()
+        .build(new CacheLoader<MetaClassImpl, ConcurrentMap<String, Object>>() {
+            @Override
+            public ConcurrentMap<String, Object> load(MetaClassImpl key) {
+                return new ConcurrentHashMap<String, Object>();
+            }
+        });
+
+    /**
+     * Creates a cache that is discarded whenever the global meta-class registry changes.
+     */
+    static MetaPropertyLookupCache create() {
+        final MetaPropertyLookupCache cache = new MetaPropertyLookupCache();
+        GroovySystem.getMetaClassRegistry().addMetaClassRegistryChangeEventListener(new MetaClassRegistryChangeEventListener() {
+            @Override
+            public void updateConstantMetaClass(MetaClassRegistryChangeEvent cmcu) {
+                cache.invalidateAll();
+            }
+        });
+        return cache;
+    }
+
+    @Nullable
+    MetaProperty lookup(MetaClassImpl metaClass, String name) {
+        if (metaClass.getClass() != MetaClassImpl.class) {
+            return lookupUncached(metaClass, name);
+        }
+        ConcurrentMap<String, Object> propertiesForMetaClass = properties.getUnchecked(metaClass);
+        Object result = propertiesForMetaClass.get(name);
+        if (result == null) {
+            MetaProperty property = lookupUncached(metaClass, name);
+            result = property == null ? NOT_FOUND : property;
+            propertiesForMetaClass.put(name, result);
+        }
+        return result == NOT_FOUND ? null : (MetaProperty) result;
+    }
+
+    void invalidateAll() {
+        properties.invalidateAll();
+    }
+
+    /*
+     * MetaClass.getMetaProperty(name) is very expensive when the property is not known.
+     * Instead, we reach into the meta class to call a much more efficient lookup method.
+     */
+    @Nullable
+    private static MetaProperty lookupUncached(MetaClassImpl metaClass, String name) {
+        try {
+            return (MetaProperty) META_PROP_METHOD.invoke(metaClass, name, false);
+        } catch (Throwable e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+}
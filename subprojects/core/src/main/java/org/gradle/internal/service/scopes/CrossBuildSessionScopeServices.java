@@ -41,6 +41,7 @@ import org.gradle.internal.service.DefaultServiceRegistry;
 import org.gradle.internal.service.ServiceRegistry;
 import org.gradle.internal.time.Clock;
 import org.gradle.internal.work.DefaultWorkerLeaseService;
+import org.gradle.internal.work.MemoryPressureListener;
 import org.gradle.internal.work.StopShieldingWorkerLeaseService;
 import org.gradle.internal.work.WorkerLeaseService;
 
@@ -64,6 +65,8 @@ public class CrossBuildSessionScopeServices implements Closeable {
     private final BuildOperationNotificationBridge buildOperationNotificationBridge;
     private final LoggingBuildOperationProgressBroadcaster loggingBuildOperationProgressBroadcaster;
     private final BuildOperationListenerManager buildOperationListenerManager;
+    private final ListenerManager generalListenerManager;
+    private final MemoryPressureListener memoryPressureListener;
 
     private final Services services;
 
@@ -76,6 +79,16 @@ public class CrossBuildSessionScopeServices implements Closeable {
         this.buildOperationTrace = new BuildOperationTrace(startParameter, buildOperationListenerManager, generalListenerManager);
         this.buildOperationNotificationBridge = new BuildOperationNotificationBridge(buildOperationListenerManager, generalListenerManager);
         this.loggingBuildOperationProgressBroadcaster = new LoggingBuildOperationProgressBroadcaster(parent.get(OutputEventListenerManager.class), buildOperationListenerManager.getBroadcaster());
+
+        this.generalListenerManager = generalListenerManager;
+        final DefaultWorkerLeaseService workerLeaseService = services.get(DefaultWorkerLeaseService.class);
+        this.memoryPressureListener = new MemoryPressureListener() {
+            @Override
+            public void onMemoryPressureChange(boolean lowOnMemory) {
+                workerLeaseService.onMemoryPressureChange(lowOnMemory);
+            }
+        };
+        generalListenerManager.addListener(memoryPressureListener);
     }
 
     GradleLauncherFactory createGradleLauncherFactory() {
@@ -100,6 +113,7 @@ public class CrossBuildSessionScopeServices implements Closeable {
 
     @Override
     public void close() throws IOException {
+        generalListenerManager.removeListener(memoryPressureListener);
         new CompositeStoppable().add(
             buildOperationTrace,
             buildOperationNotificationBridge,
@@ -122,7 +136,7 @@ public class CrossBuildSessionScopeServices implements Closeable {
             );
         }
 
-        WorkerLeaseService createWorkerLeaseService(ResourceLockCoordinationService resourceLockCoordinationService, ParallelismConfigurationManager parallelismConfigurationManager) {
+        DefaultWorkerLeaseService createWorkerLeaseService(ResourceLockCoordinationService resourceLockCoordinationService, ParallelismConfigurationManager parallelismConfigurationManager) {
             return new DefaultWorkerLeaseService(resourceLockCoordinationService, parallelismConfigurationManager);
         }
 
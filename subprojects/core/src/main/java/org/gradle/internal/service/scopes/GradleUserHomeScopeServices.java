@@ -141,6 +141,7 @@ public class GradleUserHomeScopeServices {
     FileSystemMirror createFileSystemMirror(ListenerManager listenerManager, List<CachedJarFileStore> fileStores) {
         DefaultFileSystemMirror fileSystemMirror = new DefaultFileSystemMirror(fileStores);
         listenerManager.addListener(fileSystemMirror);
+        listenerManager.addListener(fileSystemMirror.getSessionLifecycleListener());
         return fileSystemMirror;
     }
 
@@ -51,6 +51,9 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.gradle.api.internal.AbstractClassGeneratorTestGroovy.BeanWithGroovyBoolean;
 import static org.gradle.util.Matchers.isEmpty;
@@ -123,6 +126,28 @@ public class AsmBackedClassGeneratorTest {
         assertSame(generator.generate(Bean.class), generator.generate(Bean.class));
     }
 
+    @Test
+    public void generatesSubclassOnceWhenRequestedConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Callable<Class<?>>> requests = new ArrayList<Callable<Class<?>>>();
+            for (int i = 0; i < 16; i++) {
+                requests.add(new Callable<Class<?>>() {
+                    public Class<?> call() {
+                        return generator.generate(ConcurrentlyGeneratedBean.class);
+                    }
+                });
+            }
+            List<Future<Class<?>>> results = executor.invokeAll(requests);
+            Class<?> generatedClass = generator.generate(ConcurrentlyGeneratedBean.class);
+            for (Future<Class<?>> result : results) {
+                assertSame(generatedClass, result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     public void doesNotDecorateAlreadyDecoratedClass() {
         Class<? extends Bean> generatedClass = generator.generate(Bean.class);
@@ -898,6 +923,9 @@ public class AsmBackedClassGeneratorTest {
         }
     }
 
+    public static class ConcurrentlyGeneratedBean extends Bean {
+    }
+
     public static class BeanWithOverriddenMethods extends Bean {
         @Override
         public String getProp() {
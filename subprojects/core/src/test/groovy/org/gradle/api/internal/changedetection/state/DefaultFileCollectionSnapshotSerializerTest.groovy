@@ -63,4 +63,17 @@ class DefaultFileCollectionSnapshotSerializerTest extends SerializerSpec {
         then:
         out.snapshots.keySet() as List == ['/3', '/2', '/1']
     }
+
+    def "reads and writes paths sharing a prefix with the previous path"() {
+        when:
+        def hash = Hashing.md5().hashString("foo")
+        def paths = ["/src/main/java", "/src/main/java/org/A.java", "/src/main/java/org/B.java", "/src/main/java/Other.java", "/src", "/src/test", "/build"]
+        def snapshots = [:]
+        paths.each { snapshots[it] = new NonNormalizedFileSnapshot(it, new FileHashSnapshot(hash)) }
+        DefaultFileCollectionSnapshot out = serialize(new DefaultFileCollectionSnapshot(snapshots, ORDERED, true), serializer)
+
+        then:
+        out.snapshots.keySet() as List == paths
+        out.snapshots.values()*.normalizedPath == paths
+    }
 }
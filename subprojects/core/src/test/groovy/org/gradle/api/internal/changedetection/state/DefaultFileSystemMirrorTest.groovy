@@ -102,7 +102,7 @@ class DefaultFileSystemMirrorTest extends Specification {
         mirror.getContent(file.path) == null
     }
 
-    def "does not discard state about a file that lives in the caches when task outputs are generated"() {
+    def "does not discard state about a file that lives in the caches until end of session"() {
         def file = cacheDir.file("some/dir/a")
         def fileSnapshot = Stub(FileSnapshot)
         def fileTreeSnapshot = Stub(FileTreeSnapshot)
@@ -137,6 +137,12 @@ class DefaultFileSystemMirrorTest extends Specification {
 
         mirror.beforeComplete()
 
+        mirror.getFile(file.path) == fileSnapshot
+        mirror.getDirectoryTree(file.path) == fileTreeSnapshot
+        mirror.getContent(file.path) == snapshot
+
+        mirror.sessionLifecycleListener.beforeComplete()
+
         mirror.getFile(file.path) == null
         mirror.getDirectoryTree(file.path) == null
         mirror.getContent(file.path) == null
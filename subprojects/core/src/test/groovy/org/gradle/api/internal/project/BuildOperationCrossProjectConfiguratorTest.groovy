@@ -0,0 +1,71 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.api.internal.project
+
+import org.gradle.api.Action
+import org.gradle.api.Project
+import org.gradle.api.internal.GradleInternal
+import org.gradle.internal.operations.TestBuildOperationExecutor
+import org.gradle.util.Path
+import spock.lang.Specification
+
+class BuildOperationCrossProjectConfiguratorTest extends Specification {
+    def buildOperationExecutor = new TestBuildOperationExecutor()
+    def configurator = new BuildOperationCrossProjectConfigurator(buildOperationExecutor)
+
+    def "records each cross-configured project with its path"() {
+        def project1 = project(":a")
+        def project2 = project(":b")
+        def action = Mock(Action)
+
+        when:
+        configurator.allprojects([project1, project2], action)
+
+        then:
+        1 * action.execute(project1)
+        1 * action.execute(project2)
+
+        and:
+        def operations = buildOperationExecutor.log.all(CrossConfigureProjectBuildOperationType)
+        operations.size() == 2
+        operations*.descriptor*.details*.projectPath == [":a", ":b"]
+        operations*.descriptor*.details*.buildPath == [":", ":"]
+        operations*.result.every { it == CrossConfigureProjectBuildOperationType.RESULT }
+    }
+
+    def "records project configured via project block"() {
+        def project = project(":a")
+
+        when:
+        configurator.project(project, { } as Action<Project>)
+
+        then:
+        buildOperationExecutor.log.mostRecentDetails(CrossConfigureProjectBuildOperationType).projectPath == ":a"
+    }
+
+    private ProjectInternal project(String path) {
+        def gradle = Stub(GradleInternal) {
+            getIdentityPath() >> Path.ROOT
+        }
+        return Stub(ProjectInternal) {
+            getProjectPath() >> Path.path(path)
+            getIdentityPath() >> Path.path(path)
+            getGradle() >> gradle
+        }
+    }
+}
@@ -463,6 +463,24 @@ class DefaultTaskContainerTest extends Specification {
         e3.message == "Cannot add task 'task2' as a task with that name already exists."
     }
 
+    void "can query whether task with given name exists without creating lazy tasks"() {
+        given:
+        _ * taskFactory.create("task1", DefaultTask, _) >> task("task1")
+        def action = Mock(Action)
+
+        container.create("task1")
+        container.createLater("task2", action)
+        addPlaceholderTask("task3")
+
+        when:
+        def results = ["task1", "task2", "task3", "unknown"].collect { container.hasTaskWithName(it) }
+
+        then:
+        results == [true, true, true, false]
+        0 * taskFactory.create("task2", _)
+        0 * action._
+    }
+
     void "defined task can be created and configured explicitly by using the returned provider"() {
         def action = Mock(Action)
         def task = task("task")
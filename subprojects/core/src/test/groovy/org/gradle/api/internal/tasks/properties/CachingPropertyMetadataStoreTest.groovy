@@ -0,0 +1,47 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.api.internal.tasks.properties
+
+import org.gradle.cache.internal.CrossBuildInMemoryCacheFactory
+import org.gradle.internal.event.DefaultListenerManager
+import spock.lang.Specification
+
+class CachingPropertyMetadataStoreTest extends Specification {
+    def delegate = Mock(PropertyMetadataStore)
+    def store = new CachingPropertyMetadataStore(delegate, new CrossBuildInMemoryCacheFactory(new DefaultListenerManager()))
+
+    def "extracts metadata of each type once"() {
+        def stringMetadata = Stub(TypeMetadata)
+        def integerMetadata = Stub(TypeMetadata)
+
+        when:
+        def first = store.getTypeMetadata(String)
+        def second = store.getTypeMetadata(String)
+        def third = store.getTypeMetadata(Integer)
+
+        then:
+        1 * delegate.getTypeMetadata(String) >> stringMetadata
+        1 * delegate.getTypeMetadata(Integer) >> integerMetadata
+        0 * delegate._
+
+        and:
+        first.is(stringMetadata)
+        second.is(stringMetadata)
+        third.is(integerMetadata)
+    }
+}
@@ -50,11 +50,12 @@ class FileCacheBackedScriptClassCompilerTest extends Specification {
     final classLoaderHierarchyHasher = Mock(ClassLoaderHierarchyHasher) {
         getClassLoaderHash(classLoader) >> HashCode.fromInt(9999)
     }
+    final ScriptClassBuildCache scriptClassBuildCache = Mock()
     final File localDir = new File("local-dir")
     final File globalDir = new File("global-dir")
     final File classesDir = new File(globalDir, "classes")
     final File metadataDir = new File(globalDir, "metadata")
-    final FileCacheBackedScriptClassCompiler compiler = new FileCacheBackedScriptClassCompiler(cacheRepository, validator, scriptCompilationHandler, Stub(ProgressLoggerFactory), hasher, classLoaderCache, classLoaderHierarchyHasher)
+    final FileCacheBackedScriptClassCompiler compiler = new FileCacheBackedScriptClassCompiler(cacheRepository, validator, scriptCompilationHandler, Stub(ProgressLoggerFactory), hasher, classLoaderCache, classLoaderHierarchyHasher, scriptClassBuildCache)
     final Action verifier = Stub()
     final CompiledScript compiledScript = Stub() {
         loadClass() >> Script
@@ -160,7 +161,55 @@ class FileCacheBackedScriptClassCompilerTest extends Specification {
             globalCache
         }
 
+        1 * scriptClassBuildCache.load(_, 'TransformerId', _, classesDir, metadataDir) >> false
         1 * scriptCompilationHandler.compileToDir({ it instanceof RemappingScriptSource }, classLoader, classesDir, metadataDir, operation, Script, verifier)
+        1 * localCache.close()
+
+        then:
+        1 * scriptClassBuildCache.store(_, 'TransformerId', _, classesDir, metadataDir)
+
+        then:
+        1 * scriptCompilationHandler.loadFromDir(source, _, classLoader, localClassesDir, localMetadataDir, operation, Script, classLoaderId) >> compiledScript
+        0 * scriptCompilationHandler._
+    }
+
+    def "uses classes from build cache instead of compiling when cache is invalid"() {
+        def initializer, globalInitializer
+        def localMetadataDir = new File(localDir, "metadata")
+        def localClassesDir = new File(localDir, "classes")
+
+        when:
+        def result = compiler.compile(source, classLoader, classLoaderId, operation, Script, verifier).loadClass()
+
+        then:
+        result == Script
+        1 * hasher.hash(source) >> HashCode.fromInt(0x0123)
+        1 * cacheRepository.cache({ it =~ "scripts-remapped/ScriptClassName/\\p{XDigit}+/TransformerId\\p{XDigit}+" }) >> localCacheBuilder
+        1 * localCacheBuilder.withInitializer(!null) >> { args ->
+            initializer = args[0]
+            localCacheBuilder
+        }
+        1 * localCacheBuilder.withDisplayName(!null) >> localCacheBuilder
+        1 * localCacheBuilder.withValidator(!null) >> localCacheBuilder
+        1 * localCacheBuilder.open() >> {
+            initializer.execute(localCache)
+            localCache
+        }
+
+        1 * cacheRepository.cache({ it =~ "scripts/\\p{XDigit}+/TransformerId/TransformerId\\p{XDigit}+" }) >> globalCacheBuilder
+        1 * globalCacheBuilder.withDisplayName(!null) >> globalCacheBuilder
+        1 * globalCacheBuilder.withInitializer(!null) >> { args ->
+            globalInitializer = args[0]
+            globalCacheBuilder
+        }
+        1 * globalCacheBuilder.withValidator(!null) >> globalCacheBuilder
+        1 * globalCacheBuilder.open() >> {
+            globalInitializer.execute(globalCache)
+            globalCache
+        }
+
+        1 * scriptClassBuildCache.load(_, 'TransformerId', _, classesDir, metadataDir) >> true
+        0 * scriptClassBuildCache.store(*_)
         1 * scriptCompilationHandler.loadFromDir(source, _, classLoader, localClassesDir, localMetadataDir, operation, Script, classLoaderId) >> compiledScript
         0 * scriptCompilationHandler._
     }
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.groovy.scripts.internal
+
+import org.gradle.caching.internal.controller.BuildCacheController
+import org.gradle.caching.internal.controller.BuildCacheLoadCommand
+import org.gradle.caching.internal.controller.BuildCacheStoreCommand
+import org.gradle.caching.internal.controller.RootBuildCacheControllerRef
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+import java.util.zip.ZipEntry
+import java.util.zip.ZipOutputStream
+
+class ScriptClassBuildCacheTest extends Specification {
+    @Rule
+    TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider()
+
+    def controller = Mock(BuildCacheController)
+    def controllerRef = new RootBuildCacheControllerRef()
+
+    def setup() {
+        controllerRef.set(controller)
+        _ * controller.enabled >> true
+    }
+
+    def "stores compiled classes and loads them into other directories"() {
+        def cache = new ScriptClassBuildCache(controllerRef, true)
+        def classesDir = tmpDir.createDir("classes")
+        def metadataDir = tmpDir.createDir("metadata")
+        classesDir.file("Script.class").text = "class"
+        classesDir.file("Script\$_closure1.class").text = "closure"
+        metadataDir.file("metadata.bin").text = "metadata"
+        def stored = new ByteArrayOutputStream()
+        String storedKey = null
+        def loadedClassesDir = tmpDir.file("loaded/classes")
+        def loadedMetadataDir = tmpDir.file("loaded/metadata")
+
+        when:
+        cache.store("abc", "dsl", "dsl123", classesDir, metadataDir)
+
+        then:
+        1 * controller.store(_) >> { BuildCacheStoreCommand command ->
+            storedKey = command.key.hashCode
+            assert command.store(stored).artifactEntryCount == 3
+        }
+
+        when:
+        def loaded = cache.load("abc", "dsl", "dsl123", loadedClassesDir, loadedMetadataDir)
+
+        then:
+        1 * controller.load(_) >> { BuildCacheLoadCommand command ->
+            assert command.key.hashCode == storedKey
+            command.load(new ByteArrayInputStream(stored.toByteArray())).metadata
+        }
+        loaded
+        loadedClassesDir.list() as Set == ["Script.class", "Script\$_closure1.class"] as Set
+        loadedClassesDir.file("Script.class").text == "class"
+        loadedMetadataDir.file("metadata.bin").text == "metadata"
+    }
+
+    def "stores and loads classes in subdirectories"() {
+        def cache = new ScriptClassBuildCache(controllerRef, true)
+        def classesDir = tmpDir.createDir("classes")
+        def metadataDir = tmpDir.createDir("metadata")
+        classesDir.file("Script.class").text = "class"
+        classesDir.file("org/test/Helper.class").text = "helper"
+        def stored = new ByteArrayOutputStream()
+        def loadedClassesDir = tmpDir.file("loaded/classes")
+
+        when:
+        cache.store("abc", "dsl", "dsl123", classesDir, metadataDir)
+
+        then:
+        1 * controller.store(_) >> { BuildCacheStoreCommand command ->
+            assert command.store(stored).artifactEntryCount == 2
+        }
+
+        when:
+        def loaded = cache.load("abc", "dsl", "dsl123", loadedClassesDir, tmpDir.file("loaded/metadata"))
+
+        then:
+        1 * controller.load(_) >> { BuildCacheLoadCommand command ->
+            command.load(new ByteArrayInputStream(stored.toByteArray())).metadata
+        }
+        loaded
+        loadedClassesDir.file("Script.class").text == "class"
+        loadedClassesDir.file("org/test/Helper.class").text == "helper"
+    }
+
+    def "does not load entries outside of the target directories"() {
+        def cache = new ScriptClassBuildCache(controllerRef, true)
+        def classesDir = tmpDir.file("classes")
+        def entry = new ByteArrayOutputStream()
+        def zipOutput = new ZipOutputStream(entry)
+        zipOutput.putNextEntry(new ZipEntry("classes/org/../../Escaped.class"))
+        zipOutput.write("escaped".bytes)
+        zipOutput.close()
+
+        when:
+        def loaded = cache.load("abc", "dsl", "dsl123", classesDir, tmpDir.file("metadata"))
+
+        then:
+        1 * controller.load(_) >> { BuildCacheLoadCommand command ->
+            command.load(new ByteArrayInputStream(entry.toByteArray())).metadata
+        }
+        !loaded
+        !classesDir.exists()
+        !tmpDir.file("Escaped.class").exists()
+    }
+
+    def "does not load when entry is missing"() {
+        def cache = new ScriptClassBuildCache(controllerRef, true)
+
+        when:
+        def loaded = cache.load("abc", "dsl", "dsl123", tmpDir.file("classes"), tmpDir.file("metadata"))
+
+        then:
+        1 * controller.load(_) >> null
+        !loaded
+    }
+
+    def "uses different keys for different classpaths"() {
+        def cache = new ScriptClassBuildCache(controllerRef, true)
+        def keys = []
+
+        when:
+        cache.load("abc", "dsl", "dsl123", tmpDir.file("classes"), tmpDir.file("metadata"))
+        cache.load("abc", "dsl", "dsl456", tmpDir.file("classes"), tmpDir.file("metadata"))
+
+        then:
+        2 * controller.load(_) >> { BuildCacheLoadCommand command ->
+            keys << command.key.hashCode
+            null
+        }
+        keys[0] != keys[1]
+    }
+
+    def "compiles locally when entry is invalid"() {
+        def cache = new ScriptClassBuildCache(controllerRef, true)
+        def classesDir = tmpDir.file("classes")
+
+        when:
+        def loaded = cache.load("abc", "dsl", "dsl123", classesDir, tmpDir.file("metadata"))
+
+        then:
+        1 * controller.load(_) >> { BuildCacheLoadCommand command ->
+            classesDir.mkdirs()
+            classesDir.file("Partial.class").text = "partial"
+            throw new RuntimeException("broken")
+        }
+        !loaded
+        !classesDir.exists()
+    }
+
+    def "does nothing when disabled"() {
+        def cache = new ScriptClassBuildCache(controllerRef, false)
+
+        when:
+        def loaded = cache.load("abc", "dsl", "dsl123", tmpDir.file("classes"), tmpDir.file("metadata"))
+        cache.store("abc", "dsl", "dsl123", tmpDir.file("classes"), tmpDir.file("metadata"))
+
+        then:
+        !loaded
+        0 * controller._
+    }
+
+    def "does nothing before the build cache of the root build is configured"() {
+        def cache = new ScriptClassBuildCache(new RootBuildCacheControllerRef(), true)
+
+        expect:
+        !cache.load("abc", "dsl", "dsl123", tmpDir.file("classes"), tmpDir.file("metadata"))
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.initialization.buildsrc
+
+import org.gradle.StartParameter
+import org.gradle.api.JavaVersion
+import org.gradle.internal.jvm.Jvm
+import org.gradle.test.fixtures.file.TestFile
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+class BuildSrcClasspathSnapshotTest extends Specification {
+    @Rule TestNameTestDirectoryProvider temp = new TestNameTestDirectoryProvider()
+
+    def startParameter = new StartParameter()
+    def jvm = Jvm.current()
+    def environment = [:]
+    TestFile buildSrcDir
+    TestFile jar
+
+    def setup() {
+        startParameter.gradleUserHomeDir = temp.createDir("user-home")
+        buildSrcDir = temp.createDir("buildSrc")
+        buildSrcDir.file("build.gradle") << "apply plugin: 'java'"
+        buildSrcDir.file("src/main/java/Thing.java") << "class Thing {}"
+        jar = buildSrcDir.file("build/libs/buildSrc.jar") << "jar"
+    }
+
+    def "reuses classpath when nothing has changed"() {
+        given:
+        snapshot().store([jar])
+
+        expect:
+        snapshot().loadClasspathIfUpToDate() == [jar]
+    }
+
+    def "ignores changes to buildSrc outputs and state"() {
+        given:
+        snapshot().store([jar])
+
+        when:
+        buildSrcDir.file("build/tmp/thing") << "changed"
+        buildSrcDir.file(".gradle/other") << "changed"
+
+        then:
+        snapshot().loadClasspathIfUpToDate() == [jar]
+    }
+
+    def "ignores changes to the outputs and state of each buildSrc project"() {
+        given:
+        buildSrcDir.file("settings.gradle") << "include 'sub'"
+        buildSrcDir.file("sub/build.gradle") << "apply plugin: 'java'"
+        snapshot().store([jar])
+
+        when:
+        buildSrcDir.file("sub/build/libs/sub.jar") << "changed"
+        buildSrcDir.file("sub/.gradle/other") << "changed"
+
+        then:
+        snapshot().loadClasspathIfUpToDate() == [jar]
+
+        when:
+        buildSrcDir.file("sub/src/main/java/Other.java") << "class Other {}"
+
+        then:
+        snapshot().loadClasspathIfUpToDate() == null
+    }
+
+    def "builds when no classpath has been recorded"() {
+        expect:
+        snapshot().loadClasspathIfUpToDate() == null
+    }
+
+    def "builds when a source file changes"() {
+        given:
+        snapshot().store([jar])
+
+        when:
+        buildSrcDir.file("src/main/java/Thing.java") << "// changed"
+
+        then:
+        snapshot().loadClasspathIfUpToDate() == null
+    }
+
+    def "builds when a source file is added"() {
+        given:
+        snapshot().store([jar])
+
+        when:
+        buildSrcDir.file("src/main/java/Other.java") << "class Other {}"
+
+        then:
+        snapshot().loadClasspathIfUpToDate() == null
+    }
+
+    def "builds when a classpath entry changes or is removed"() {
+        given:
+        snapshot().store([jar])
+
+        when:
+        jar << "changed"
+
+        then:
+        snapshot().loadClasspathIfUpToDate() == null
+
+        when:
+        snapshot().store([jar])
+        jar.delete()
+
+        then:
+        snapshot().loadClasspathIfUpToDate() == null
+    }
+
+    def "builds when project properties change"() {
+        given:
+        snapshot().store([jar])
+
+        when:
+        startParameter.projectProperties = [prop: "value"]
+
+        then:
+        snapshot().loadClasspathIfUpToDate() == null
+    }
+
+    def "builds when project properties set in the environment change"() {
+        given:
+        environment = [OTHER: "value"]
+        snapshot().store([jar])
+
+        when:
+        environment = [OTHER: "changed"]
+
+        then:
+        snapshot().loadClasspathIfUpToDate() == [jar]
+
+        when:
+        environment.ORG_GRADLE_PROJECT_prop = "value"
+
+        then:
+        snapshot().loadClasspathIfUpToDate() == null
+    }
+
+    def "builds when a gradle.properties file of the build or the user home changes"() {
+        given:
+        snapshot().store([jar])
+
+        when:
+        temp.file("gradle.properties") << "prop=value"
+
+        then:
+        snapshot().loadClasspathIfUpToDate() == null
+
+        when:
+        snapshot().store([jar])
+        temp.file("user-home/gradle.properties") << "prop=value"
+
+        then:
+        snapshot().loadClasspathIfUpToDate() == null
+    }
+
+    def "builds when the Java installation changes"() {
+        given:
+        snapshot().store([jar])
+
+        when:
+        jvm = Stub(Jvm) {
+            getJavaHome() >> temp.createDir("other-jdk")
+            getJavaVersion() >> JavaVersion.current()
+        }
+
+        then:
+        snapshot().loadClasspathIfUpToDate() == null
+    }
+
+    def "builds when an init script is added or changes"() {
+        given:
+        def initScript = temp.file("init.gradle") << "println 'init'"
+        snapshot().store([jar])
+
+        when:
+        startParameter.addInitScript(initScript)
+
+        then:
+        snapshot().loadClasspathIfUpToDate() == null
+
+        when:
+        snapshot().store([jar])
+        initScript << "println 'changed'"
+
+        then:
+        snapshot().loadClasspathIfUpToDate() == null
+    }
+
+    def "builds when an init script is added to the user home"() {
+        given:
+        snapshot().store([jar])
+
+        when:
+        temp.file("user-home/init.d/init.gradle") << "println 'init'"
+
+        then:
+        snapshot().loadClasspathIfUpToDate() == null
+    }
+
+    def "builds when dependencies are refreshed"() {
+        given:
+        snapshot().store([jar])
+
+        when:
+        startParameter.refreshDependencies = true
+
+        then:
+        snapshot().loadClasspathIfUpToDate() == null
+    }
+
+    def "does nothing when not enabled"() {
+        when:
+        snapshot(false).store([jar])
+
+        then:
+        snapshot().loadClasspathIfUpToDate() == null
+        !buildSrcDir.file(".gradle/noVersion/buildSrc-classpath.properties").exists()
+    }
+
+    private BuildSrcClasspathSnapshot snapshot(boolean enabled = true) {
+        return new BuildSrcClasspathSnapshot(buildSrcDir, startParameter, jvm, environment, enabled)
+    }
+}
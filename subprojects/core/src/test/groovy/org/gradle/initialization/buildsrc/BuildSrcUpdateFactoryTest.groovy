@@ -30,7 +30,8 @@ class BuildSrcUpdateFactoryTest extends Specification {
     def listener = Stub(BuildSrcBuildListenerFactory.Listener)
     def listenerFactory = Mock(BuildSrcBuildListenerFactory)
     def cachedClasspathTransformer = Mock(CachedClasspathTransformer)
-    def factory = new BuildSrcUpdateFactory(launcher, listenerFactory, cachedClasspathTransformer)
+    def classpathSnapshot = Mock(BuildSrcClasspathSnapshot)
+    def factory = new BuildSrcUpdateFactory(launcher, listenerFactory, cachedClasspathTransformer, classpathSnapshot)
 
     def "creates classpath"() {
         listener.getRuntimeClasspath() >> [new File("dummy")]
@@ -43,6 +44,7 @@ class BuildSrcUpdateFactoryTest extends Specification {
         1 * cachedClasspathTransformer.transform(_) >> { arguments ->
             arguments[0]
         }
+        1 * classpathSnapshot.store([new File("dummy")])
 
         classpath.asFiles == [new File("dummy")]
     }
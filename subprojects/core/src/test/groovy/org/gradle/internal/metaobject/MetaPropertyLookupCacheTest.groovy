@@ -0,0 +1,74 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.internal.metaobject
+
+import groovy.transform.CompileStatic
+import spock.lang.Specification
+
+class MetaPropertyLookupCacheTest extends Specification {
+    def cache = new MetaPropertyLookupCache()
+
+    def "finds known properties and reports missing properties"() {
+        def metaClass = metaClassFor(Bean)
+
+        expect:
+        cache.lookup(metaClass, "prop").name == "prop"
+        cache.lookup(metaClass, "unknown") == null
+        cache.lookup(metaClass, "unknown") == null
+    }
+
+    def "does not share results between meta-class instances"() {
+        def metaClass = metaClassFor(Bean)
+        def otherMetaClass = metaClassFor(OtherBean)
+
+        expect:
+        cache.lookup(metaClass, "prop") != null
+        cache.lookup(otherMetaClass, "prop") == null
+        cache.lookup(otherMetaClass, "other") != null
+    }
+
+    def "does not cache lookups for expando meta-classes"() {
+        def metaClass = new ExpandoMetaClass(Bean, false, true)
+        metaClass.initialize()
+
+        expect:
+        cache.lookup(metaClass, "added") == null
+
+        when:
+        metaClass.added = "value"
+
+        then:
+        cache.lookup(metaClass, "added") != null
+    }
+
+    private static MetaClassImpl metaClassFor(Class<?> type) {
+        def metaClass = new MetaClassImpl(type)
+        metaClass.initialize()
+        return metaClass
+    }
+
+    @CompileStatic
+    static class Bean {
+        String prop
+    }
+
+    @CompileStatic
+    static class OtherBean {
+        String other
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.service.scopes
+
+import org.gradle.StartParameter
+import org.gradle.internal.concurrent.DefaultParallelismConfiguration
+import org.gradle.internal.concurrent.ParallelismConfigurationManager
+import org.gradle.internal.event.ListenerManager
+import org.gradle.internal.logging.services.LoggingServiceRegistry
+import org.gradle.internal.resources.ResourceLockCoordinationService
+import org.gradle.internal.service.DefaultServiceRegistry
+import org.gradle.internal.work.MemoryPressureListener
+import org.gradle.internal.work.WorkerLeaseService
+import org.gradle.testfixtures.internal.NativeServicesTestFixture
+import spock.lang.Specification
+
+import static org.gradle.internal.resources.DefaultResourceLockCoordinationService.tryLock
+import static org.gradle.internal.resources.DefaultResourceLockCoordinationService.unlock
+
+class CrossBuildSessionScopeServicesTest extends Specification {
+    final def globalServices = new DefaultServiceRegistry(LoggingServiceRegistry.newEmbeddableLogging(), NativeServicesTestFixture.getInstance()).addProvider(new GlobalScopeServices(false))
+    final def memoryPressure = globalServices.get(ListenerManager).getBroadcaster(MemoryPressureListener)
+    final def coordinationService = globalServices.get(ResourceLockCoordinationService)
+    CrossBuildSessionScopeServices services
+
+    def setup() {
+        globalServices.get(ParallelismConfigurationManager).parallelismConfiguration = new DefaultParallelismConfiguration(true, 2)
+        services = new CrossBuildSessionScopeServices(globalServices, new StartParameter())
+    }
+
+    def cleanup() {
+        services?.close()
+        globalServices.close()
+    }
+
+    def "worker lease service receives memory pressure events from the global listener manager"() {
+        given:
+        def workerLeaseService = services.createWorkerLeaseService() as WorkerLeaseService
+        def lease1 = workerLeaseService.workerLease
+        def lease2 = workerLeaseService.workerLease
+        assert coordinationService.withStateLock(tryLock(lease1))
+
+        when:
+        memoryPressure.onMemoryPressureChange(true)
+
+        then:
+        !coordinationService.withStateLock(tryLock(lease2))
+
+        when:
+        memoryPressure.onMemoryPressureChange(false)
+
+        then:
+        coordinationService.withStateLock(tryLock(lease2))
+
+        cleanup:
+        coordinationService.withStateLock(unlock(lease1, lease2))
+    }
+}
@@ -17,10 +17,18 @@
 package org.gradle.api.internal.artifacts;
 
 import org.gradle.api.internal.artifacts.ivyservice.DefaultArtifactCacheMetadata;
+import org.gradle.api.internal.artifacts.ivyservice.modulecache.CrossBuildModuleMetadataCache;
 import org.gradle.cache.internal.CacheScopeMapping;
+import org.gradle.internal.event.ListenerManager;
 
 public class DependencyManagementGradleUserHomeScopeServices {
     DefaultArtifactCacheMetadata createArtifactCacheMetaData(CacheScopeMapping cacheScopeMapping) {
         return new DefaultArtifactCacheMetadata(cacheScopeMapping);
     }
+
+    CrossBuildModuleMetadataCache createCrossBuildModuleMetadataCache(ListenerManager listenerManager) {
+        CrossBuildModuleMetadataCache cache = new CrossBuildModuleMetadataCache();
+        listenerManager.addListener(cache.getSessionLifecycleListener());
+        return cache;
+    }
 }
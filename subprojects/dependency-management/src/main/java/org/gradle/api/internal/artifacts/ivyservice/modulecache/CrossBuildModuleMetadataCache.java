@@ -0,0 +1,135 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.api.internal.artifacts.ivyservice.modulecache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
+import net.jcip.annotations.ThreadSafe;
+import org.gradle.cache.internal.HeapProportionalCacheSizer;
+import org.gradle.initialization.SessionLifecycleListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Retains the serialized module metadata read from or written to the persistent module metadata store, so that later builds in the same process do not need to
+ * read the descriptor files again.
+ *
+ * The serialized form does not reference any build session scoped services, such as the attributes factory, so it can be shared by all builds that use the same
+ * Gradle user home. Each build decodes the metadata using its own services.
+ *
+ * Each entry remembers the creation timestamp of the persistent cache entry it belongs to, and is only reused while the persistent entry is unchanged.
+ */
+@ThreadSafe
+public class CrossBuildModuleMetadataCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CrossBuildModuleMetadataCache.class);
+    private static final int DEFAULT_MAX_WEIGHT = 16 * 1024 * 1024;
+
+    private final Cache<ModuleComponentAtRepositoryKey, Entry> entries;
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final SessionLifecycleListener sessionLifecycleListener = new SessionLifecycleListener() {
+        @Override
+        public void afterStart() {
+        }
+
+        @Override
+        public void beforeComplete() {
+            LOGGER.debug("Module metadata reused from previous builds: {} hits, {} misses.", hitCount.getAndSet(0), missCount.getAndSet(0));
+        }
+    };
+
+    public CrossBuildModuleMetadataCache() {
+        this(new HeapProportionalCacheSizer().scaleCacheSize(DEFAULT_MAX_WEIGHT));
+    }
+
+    CrossBuildModuleMetadataCache(int maxWeight) {
+        entries = CacheBuilder.newBuilder()
+            .maximumWeight(maxWeight)
+            .weigher(new EntryWeigher())
+            .build();
+    }
+
+    /**
+     * Returns the listener that reports the hit and miss counts for the session at the end of the session.
+     */
+    public SessionLifecycleListener getSessionLifecycleListener() {
+        return sessionLifecycleListener;
+    }
+
+    /**
+     * Returns the serialized metadata for the given component, provided it was cached for a persistent entry with the given timestamp.
+     */
+    @Nullable
+    public byte[] get(ModuleComponentAtRepositoryKey key, long createTimestamp) {
+        Entry entry = entries.getIfPresent(key);
+        if (entry == null) {
+            missCount.incrementAndGet();
+            return null;
+        }
+        if (entry.createTimestamp != createTimestamp) {
+            entries.invalidate(key);
+            missCount.incrementAndGet();
+            return null;
+        }
+        hitCount.incrementAndGet();
+        return entry.encoded;
+    }
+
+    public void put(ModuleComponentAtRepositoryKey key, long createTimestamp, byte[] encoded) {
+        entries.put(key, new Entry(createTimestamp, encoded));
+    }
+
+    /**
+     * Returns the number of lookups that found usable metadata during the current session.
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Returns the number of lookups that did not find usable metadata during the current session.
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public void clear() {
+        entries.invalidateAll();
+    }
+
+    private static class Entry {
+        private final long createTimestamp;
+        private final byte[] encoded;
+
+        Entry(long createTimestamp, byte[] encoded) {
+            this.createTimestamp = createTimestamp;
+            this.encoded = encoded;
+        }
+    }
+
+    private static class EntryWeigher implements Weigher<ModuleComponentAtRepositoryKey, Entry> {
+        @Override
+        public int weigh(ModuleComponentAtRepositoryKey key, Entry entry) {
+            return entry.encoded.length;
+        }
+    }
+}
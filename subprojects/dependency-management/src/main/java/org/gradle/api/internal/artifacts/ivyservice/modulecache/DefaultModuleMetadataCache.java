@@ -26,7 +26,6 @@ import org.gradle.api.internal.artifacts.repositories.metadata.IvyMutableModuleM
 import org.gradle.api.internal.artifacts.repositories.metadata.MavenMutableModuleMetadataFactory;
 import org.gradle.cache.PersistentIndexedCache;
 import org.gradle.internal.Factory;
-import org.gradle.internal.component.external.model.ModuleComponentResolveMetadata;
 import org.gradle.internal.component.external.model.MutableModuleComponentResolveMetadata;
 import org.gradle.internal.resource.local.DefaultPathKeyFileStore;
 import org.gradle.internal.serialize.AbstractSerializer;
@@ -39,6 +38,7 @@ public class DefaultModuleMetadataCache extends InMemoryModuleMetadataCache {
     private PersistentIndexedCache<ModuleComponentAtRepositoryKey, ModuleMetadataCacheEntry> cache;
     private final ModuleMetadataStore moduleMetadataStore;
     private final CacheLockingManager cacheLockingManager;
+    private final CrossBuildModuleMetadataCache crossBuildCache;
 
     public DefaultModuleMetadataCache(BuildCommencedTimeProvider timeProvider,
                                       CacheLockingManager cacheLockingManager,
@@ -46,10 +46,12 @@ public class DefaultModuleMetadataCache extends InMemoryModuleMetadataCache {
                                       ImmutableModuleIdentifierFactory moduleIdentifierFactory,
                                       AttributeContainerSerializer attributeContainerSerializer,
                                       MavenMutableModuleMetadataFactory mavenMetadataFactory,
-                                      IvyMutableModuleMetadataFactory ivyMetadataFactory) {
+                                      IvyMutableModuleMetadataFactory ivyMetadataFactory,
+                                      CrossBuildModuleMetadataCache crossBuildCache) {
         super(timeProvider);
         moduleMetadataStore = new ModuleMetadataStore(new DefaultPathKeyFileStore(artifactCacheMetadata.getMetaDataStoreDirectory()), new ModuleMetadataSerializer(attributeContainerSerializer, mavenMetadataFactory, ivyMetadataFactory), moduleIdentifierFactory);
         this.cacheLockingManager = cacheLockingManager;
+        this.crossBuildCache = crossBuildCache;
     }
 
     private PersistentIndexedCache<ModuleComponentAtRepositoryKey, ModuleMetadataCacheEntry> getCache() {
@@ -92,12 +94,18 @@ public class DefaultModuleMetadataCache extends InMemoryModuleMetadataCache {
                 if (entry.isMissing()) {
                     return new DefaultCachedMetadata(entry, null, timeProvider);
                 }
-                MutableModuleComponentResolveMetadata metadata = moduleMetadataStore.getModuleDescriptor(key);
-                if (metadata == null) {
-                    // Descriptor file has been deleted - ignore the entry
-                    cache.remove(key);
-                    return null;
+                byte[] encoded = crossBuildCache.get(key, entry.createTimestamp);
+                if (encoded == null) {
+                    encoded = moduleMetadataStore.getEncodedModuleDescriptor(key);
+                    if (encoded == null) {
+                        // Descriptor file has been deleted - ignore the entry
+                        cache.remove(key);
+                        return null;
+                    }
+                    crossBuildCache.put(key, entry.createTimestamp, encoded);
                 }
+                // Decode using the services of this build, as the metadata references build session scoped services
+                MutableModuleComponentResolveMetadata metadata = moduleMetadataStore.decode(encoded);
                 return new DefaultCachedMetadata(entry, entry.configure(metadata), timeProvider);
             }
         });
@@ -113,9 +121,10 @@ public class DefaultModuleMetadataCache extends InMemoryModuleMetadataCache {
             cacheLockingManager.useCache(new Runnable() {
                 @Override
                 public void run() {
-                    final ModuleComponentResolveMetadata metadata = cachedMetadata.getMetadata();
-                    moduleMetadataStore.putModuleDescriptor(key, metadata);
+                    byte[] encoded = moduleMetadataStore.encode(cachedMetadata.getMetadata());
+                    moduleMetadataStore.putEncodedModuleDescriptor(key, encoded);
                     getCache().put(key, entry);
+                    crossBuildCache.put(key, entry.createTimestamp, encoded);
                 }
             });
         }
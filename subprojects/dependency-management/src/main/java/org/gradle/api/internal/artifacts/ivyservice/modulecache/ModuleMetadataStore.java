@@ -15,6 +15,7 @@
  */
 package org.gradle.api.internal.artifacts.ivyservice.modulecache;
 
+import com.google.common.io.Files;
 import org.gradle.api.Action;
 import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
 import org.gradle.api.internal.artifacts.ImmutableModuleIdentifierFactory;
@@ -26,9 +27,10 @@ import org.gradle.internal.resource.local.PathKeyFileStore;
 import org.gradle.internal.serialize.kryo.KryoBackedDecoder;
 import org.gradle.internal.serialize.kryo.KryoBackedEncoder;
 
+import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 
 public class ModuleMetadataStore {
 
@@ -43,16 +45,20 @@ public class ModuleMetadataStore {
     }
 
     public MutableModuleComponentResolveMetadata getModuleDescriptor(ModuleComponentAtRepositoryKey component) {
+        byte[] encoded = getEncodedModuleDescriptor(component);
+        return encoded == null ? null : decode(encoded);
+    }
+
+    /**
+     * Returns the serialized form of the metadata for the given component, or null when there is none.
+     */
+    @Nullable
+    public byte[] getEncodedModuleDescriptor(ModuleComponentAtRepositoryKey component) {
         String filePath = getFilePath(component);
         final LocallyAvailableResource resource = metaDataStore.get(filePath);
         if (resource != null) {
             try {
-                KryoBackedDecoder decoder = new KryoBackedDecoder(new FileInputStream(resource.getFile()));
-                try {
-                    return moduleMetadataSerializer.read(decoder, moduleIdentifierFactory);
-                } finally {
-                    decoder.close();
-                }
+                return Files.toByteArray(resource.getFile());
             } catch (Exception e) {
                 throw new RuntimeException("Could not load module metadata from " + resource.getDisplayName(), e);
             }
@@ -61,16 +67,15 @@ public class ModuleMetadataStore {
     }
 
     public LocallyAvailableResource putModuleDescriptor(ModuleComponentAtRepositoryKey component, final ModuleComponentResolveMetadata metadata) {
+        return putEncodedModuleDescriptor(component, encode(metadata));
+    }
+
+    public LocallyAvailableResource putEncodedModuleDescriptor(ModuleComponentAtRepositoryKey component, final byte[] encoded) {
         String filePath = getFilePath(component);
         return metaDataStore.add(filePath, new Action<File>() {
             public void execute(File moduleDescriptorFile) {
                 try {
-                    KryoBackedEncoder encoder = new KryoBackedEncoder(new FileOutputStream(moduleDescriptorFile));
-                    try {
-                        moduleMetadataSerializer.write(encoder, metadata);
-                    } finally {
-                        encoder.close();
-                    }
+                    Files.write(encoded, moduleDescriptorFile);
                 } catch (Exception e) {
                     throw UncheckedException.throwAsUncheckedException(e);
                 }
@@ -78,6 +83,36 @@ public class ModuleMetadataStore {
         });
     }
 
+    /**
+     * Decodes metadata in the form returned by {@link #getEncodedModuleDescriptor(ModuleComponentAtRepositoryKey)}, using the services of the current build.
+     */
+    public MutableModuleComponentResolveMetadata decode(byte[] encoded) {
+        try {
+            KryoBackedDecoder decoder = new KryoBackedDecoder(new ByteArrayInputStream(encoded));
+            try {
+                return moduleMetadataSerializer.read(decoder, moduleIdentifierFactory);
+            } finally {
+                decoder.close();
+            }
+        } catch (Exception e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        }
+    }
+
+    public byte[] encode(ModuleComponentResolveMetadata metadata) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        KryoBackedEncoder encoder = new KryoBackedEncoder(outputStream);
+        try {
+            moduleMetadataSerializer.write(encoder, metadata);
+            encoder.flush();
+        } catch (Exception e) {
+            throw UncheckedException.throwAsUncheckedException(e);
+        } finally {
+            encoder.close();
+        }
+        return outputStream.toByteArray();
+    }
+
     private String getFilePath(ModuleComponentAtRepositoryKey componentId) {
         ModuleComponentIdentifier moduleComponentIdentifier = componentId.getComponentId();
         return moduleComponentIdentifier.getGroup() + "/" + moduleComponentIdentifier.getModule() + "/" + moduleComponentIdentifier.getVersion() + "/" + componentId.getRepositoryId() + "/descriptor.bin";
@@ -17,11 +17,12 @@
 package org.gradle.api.internal.artifacts.transform;
 
 import com.google.common.collect.ImmutableList;
-import org.gradle.api.Action;
 import org.gradle.api.internal.artifacts.ivyservice.ArtifactCacheMetadata;
 import org.gradle.api.internal.changedetection.state.FileSystemSnapshotter;
 import org.gradle.api.internal.changedetection.state.InMemoryCacheDecoratorFactory;
 import org.gradle.api.internal.changedetection.state.Snapshot;
+import org.gradle.api.internal.file.DefaultTemporaryFileProvider;
+import org.gradle.api.internal.file.TemporaryFileProvider;
 import org.gradle.cache.CacheBuilder;
 import org.gradle.cache.CacheRepository;
 import org.gradle.cache.FileLockManager;
@@ -31,31 +32,37 @@ import org.gradle.cache.PersistentIndexedCacheParameters;
 import org.gradle.cache.internal.ProducerGuard;
 import org.gradle.caching.internal.DefaultBuildCacheHasher;
 import org.gradle.initialization.RootBuildLifecycleListener;
+import org.gradle.internal.Factories;
 import org.gradle.internal.Factory;
 import org.gradle.internal.UncheckedException;
 import org.gradle.internal.concurrent.Stoppable;
 import org.gradle.internal.hash.HashCode;
 import org.gradle.internal.resource.local.DefaultPathKeyFileStore;
 import org.gradle.internal.resource.local.FileStore;
-import org.gradle.internal.resource.local.FileStoreAddActionException;
 import org.gradle.internal.serialize.BaseSerializerFactory;
 import org.gradle.internal.serialize.HashCodeSerializer;
 import org.gradle.internal.serialize.ListSerializer;
 import org.gradle.internal.util.BiFunction;
+import org.gradle.util.GFileUtils;
 
+import javax.annotation.Nullable;
 import java.io.File;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import static org.gradle.api.internal.artifacts.ivyservice.CacheLayout.TRANSFORMS_META_DATA;
 import static org.gradle.api.internal.artifacts.ivyservice.CacheLayout.TRANSFORMS_STORE;
 import static org.gradle.cache.internal.filelock.LockOptionsBuilder.mode;
 
 public class DefaultTransformedFileCache implements TransformedFileCache, Stoppable, RootBuildLifecycleListener {
+    private static final String WORKSPACES_DIR = "workspaces";
+    private static final long STALE_WORKSPACE_AGE_MILLIS = TimeUnit.DAYS.toMillis(1);
     private final PersistentCache cache;
     private final PersistentIndexedCache<HashCode, List<File>> indexedCache;
     private final FileStore<String> fileStore;
+    private final TemporaryFileProvider temporaryFileProvider;
     private final ProducerGuard<CacheKey> producing = ProducerGuard.adaptive();
     private final Map<CacheKey, List<File>> resultHashToResult = new ConcurrentHashMap<CacheKey, List<File>>();
     private final FileSystemSnapshotter fileSystemSnapshotter;
@@ -65,6 +72,8 @@ public class DefaultTransformedFileCache implements TransformedFileCache, Stoppa
         File transformsStoreDirectory = artifactCacheMetadata.getTransformsStoreDirectory();
         File filesOutputDirectory = new File(transformsStoreDirectory, TRANSFORMS_STORE.getKey());
         fileStore = new DefaultPathKeyFileStore(filesOutputDirectory);
+        File workspacesDirectory = new File(transformsStoreDirectory, WORKSPACES_DIR);
+        temporaryFileProvider = new DefaultTemporaryFileProvider(Factories.constant(workspacesDirectory));
         cache = cacheRepository
             .cache(transformsStoreDirectory)
             .withCrossVersionCache(CacheBuilder.LockTarget.DefaultTarget)
@@ -75,6 +84,24 @@ public class DefaultTransformedFileCache implements TransformedFileCache, Stoppa
         PersistentIndexedCacheParameters<HashCode, List<File>> cacheParameters = new PersistentIndexedCacheParameters<HashCode, List<File>>(cacheName, new HashCodeSerializer(), new ListSerializer<File>(BaseSerializerFactory.FILE_SERIALIZER))
             .cacheDecorator(cacheDecoratorFactory.decorator(1000, true));
         indexedCache = cache.createCache(cacheParameters);
+        deleteStaleWorkspaces(workspacesDirectory);
+    }
+
+    /*
+     * Removes workspaces left behind by processes that stopped while running a transform. Other processes may be running transforms
+     * into this directory at the same time, so only workspaces that have not been modified for a while are removed.
+     */
+    private static void deleteStaleWorkspaces(File workspacesDirectory) {
+        File[] workspaces = workspacesDirectory.listFiles();
+        if (workspaces == null) {
+            return;
+        }
+        long cutoff = System.currentTimeMillis() - STALE_WORKSPACE_AGE_MILLIS;
+        for (File workspace : workspaces) {
+            if (workspace.lastModified() < cutoff) {
+                GFileUtils.deleteQuietly(workspace);
+            }
+        }
     }
 
     @Override
@@ -119,36 +146,16 @@ public class DefaultTransformedFileCache implements TransformedFileCache, Stoppa
                 if (files != null) {
                     return files;
                 }
+                final HashCode persistentCacheKey = cacheKey.getPersistentCacheKey();
                 files = cache.withFileLock(new Factory<List<File>>() {
                     @Override
                     public List<File> create() {
-                        HashCode persistentCacheKey = cacheKey.getPersistentCacheKey();
-                        List<File> files = indexedCache.get(persistentCacheKey);
-                        if (files != null) {
-                            boolean allExist = true;
-                            for (File file : files) {
-                                if (!file.exists()) {
-                                    allExist = false;
-                                    break;
-                                }
-                            }
-                            if (allExist) {
-                                return files;
-                            }
-                        }
-
-                        String key = inputFile.getName() + "/" + persistentCacheKey;
-                        TransformAction action = new TransformAction(transformer, inputFile);
-                        try {
-                            fileStore.add(key, action);
-                        } catch (FileStoreAddActionException e) {
-                            throw UncheckedException.throwAsUncheckedException(e.getCause());
-                        }
-
-                        indexedCache.put(persistentCacheKey, action.result);
-                        return action.result;
+                        return findPersistedResult(persistentCacheKey);
                     }
                 });
+                if (files == null) {
+                    files = transformAndPersist(inputFile, persistentCacheKey, transformer);
+                }
 
                 resultHashToResult.put(cacheKey, files);
                 return files;
@@ -156,6 +163,73 @@ public class DefaultTransformedFileCache implements TransformedFileCache, Stoppa
         });
     }
 
+    /*
+     * Runs the transform into a private workspace without holding the file lock, so that other processes can use the cache while
+     * the transform is running. The lock is only held to move the result into the file store, unless another process has produced
+     * the same result in the meantime.
+     */
+    private List<File> transformAndPersist(final File inputFile, final HashCode persistentCacheKey, BiFunction<List<File>, File, File> transformer) {
+        final File workspace = temporaryFileProvider.createTemporaryDirectory(null, null);
+        try {
+            final List<File> workspaceResult;
+            try {
+                workspaceResult = ImmutableList.copyOf(transformer.apply(inputFile, workspace));
+            } catch (Throwable t) {
+                throw UncheckedException.throwAsUncheckedException(t);
+            }
+
+            return cache.withFileLock(new Factory<List<File>>() {
+                @Override
+                public List<File> create() {
+                    List<File> files = findPersistedResult(persistentCacheKey);
+                    if (files != null) {
+                        return files;
+                    }
+
+                    String key = inputFile.getName() + "/" + persistentCacheKey;
+                    File outputDir = fileStore.move(key, workspace).getFile();
+                    files = relocate(workspaceResult, workspace, outputDir);
+                    indexedCache.put(persistentCacheKey, files);
+                    return files;
+                }
+            });
+        } finally {
+            // The workspace no longer exists once it has been moved into the file store. Otherwise, the transform or the move failed,
+            // or another process produced the result first
+            GFileUtils.deleteQuietly(workspace);
+        }
+    }
+
+    // Caller must be holding the file lock
+    @Nullable
+    private List<File> findPersistedResult(HashCode persistentCacheKey) {
+        List<File> files = indexedCache.get(persistentCacheKey);
+        if (files == null) {
+            return null;
+        }
+        for (File file : files) {
+            if (!file.exists()) {
+                return null;
+            }
+        }
+        return files;
+    }
+
+    private static List<File> relocate(List<File> files, File workspace, File outputDir) {
+        String workspacePrefix = workspace.getPath() + File.separator;
+        ImmutableList.Builder<File> builder = ImmutableList.builder();
+        for (File file : files) {
+            if (file.equals(workspace)) {
+                builder.add(outputDir);
+            } else if (file.getPath().startsWith(workspacePrefix)) {
+                builder.add(new File(outputDir, file.getPath().substring(workspacePrefix.length())));
+            } else {
+                builder.add(file);
+            }
+        }
+        return builder.build();
+    }
+
     private CacheKey getCacheKey(File inputFile, HashCode inputsHash) {
         Snapshot inputFileSnapshot = fileSystemSnapshotter.snapshotAll(inputFile);
         return new CacheKey(inputFileSnapshot, inputsHash);
@@ -207,21 +281,4 @@ public class DefaultTransformedFileCache implements TransformedFileCache, Stoppa
             return result;
         }
     }
-
-    private static class TransformAction implements Action<File> {
-        private final BiFunction<List<File>, File, File> transformer;
-        private final File inputFile;
-        private ImmutableList<File> result;
-
-        TransformAction(BiFunction<List<File>, File, File> transformer, File inputFile) {
-            this.transformer = transformer;
-            this.inputFile = inputFile;
-        }
-
-        @Override
-        public void execute(File outputDir) {
-            outputDir.mkdirs();
-            result = ImmutableList.copyOf(transformer.apply(inputFile, outputDir));
-        }
-    }
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.api.internal.artifacts.ivyservice.modulecache
+
+import org.gradle.internal.component.external.model.DefaultModuleComponentIdentifier
+import spock.lang.Specification
+
+class CrossBuildModuleMetadataCacheTest extends Specification {
+    def cache = new CrossBuildModuleMetadataCache(100)
+    def key = new ModuleComponentAtRepositoryKey("repo", DefaultModuleComponentIdentifier.newId("org.test", "test", "1.0"))
+    def encoded = new byte[10]
+
+    def "returns cached metadata for matching entry timestamp"() {
+        when:
+        cache.put(key, 100, encoded)
+
+        then:
+        cache.get(key, 100).is(encoded)
+        cache.hitCount == 1
+        cache.missCount == 0
+    }
+
+    def "does not return metadata that was never cached"() {
+        expect:
+        cache.get(key, 100) == null
+        cache.hitCount == 0
+        cache.missCount == 1
+    }
+
+    def "discards cached metadata when the persistent entry has changed"() {
+        given:
+        cache.put(key, 100, encoded)
+
+        expect:
+        cache.get(key, 200) == null
+        cache.get(key, 100) == null
+        cache.missCount == 2
+    }
+
+    def "resets counts at the end of the session and keeps entries for the next session"() {
+        given:
+        cache.put(key, 100, encoded)
+        cache.get(key, 100)
+        cache.get(key, 200)
+        cache.put(key, 100, encoded)
+
+        when:
+        cache.sessionLifecycleListener.beforeComplete()
+
+        then:
+        cache.hitCount == 0
+        cache.missCount == 0
+        cache.get(key, 100).is(encoded)
+    }
+
+    def "evicts entries when the maximum weight is exceeded"() {
+        when:
+        20.times {
+            cache.put(new ModuleComponentAtRepositoryKey("repo", DefaultModuleComponentIdentifier.newId("org.test", "test", "$it")), 100, encoded)
+        }
+
+        then:
+        (0..<20).count { cache.get(new ModuleComponentAtRepositoryKey("repo", DefaultModuleComponentIdentifier.newId("org.test", "test", "$it")), 100) != null } <= 10
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.modulecache
+
+import org.gradle.api.internal.artifacts.DefaultImmutableModuleIdentifierFactory
+import org.gradle.api.internal.artifacts.ivyservice.ArtifactCacheMetadata
+import org.gradle.api.internal.artifacts.ivyservice.CacheLockingManager
+import org.gradle.api.internal.artifacts.ivyservice.ivyresolve.ModuleComponentRepository
+import org.gradle.api.internal.artifacts.ivyservice.resolveengine.result.AttributeContainerSerializer
+import org.gradle.api.internal.artifacts.repositories.metadata.IvyMutableModuleMetadataFactory
+import org.gradle.api.internal.artifacts.repositories.metadata.MavenMutableModuleMetadataFactory
+import org.gradle.api.internal.attributes.ImmutableAttributesFactory
+import org.gradle.api.internal.model.NamedObjectInstantiator
+import org.gradle.cache.PersistentIndexedCache
+import org.gradle.internal.Factory
+import org.gradle.internal.component.external.model.DefaultModuleComponentIdentifier
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.gradle.util.BuildCommencedTimeProvider
+import org.gradle.util.TestUtil
+import org.junit.Rule
+import spock.lang.Specification
+
+class DefaultModuleMetadataCacheTest extends Specification {
+    @Rule TestNameTestDirectoryProvider temporaryFolder
+    def moduleIdentifierFactory = new DefaultImmutableModuleIdentifierFactory()
+    def index = [:]
+    def persistentIndex = Stub(PersistentIndexedCache) {
+        get(_) >> { args -> index[args[0]] }
+        put(_, _) >> { key, value -> index[key] = value }
+        remove(_) >> { args -> index.remove(args[0]) }
+    }
+    def cacheLockingManager = Stub(CacheLockingManager) {
+        createCache(_, _, _) >> persistentIndex
+        useCache(_ as Factory) >> { Factory action -> action.create() }
+        useCache(_ as Runnable) >> { Runnable action -> action.run() }
+    }
+    def metadataStoreDir = temporaryFolder.file("metadata")
+    def artifactCacheMetadata = Stub(ArtifactCacheMetadata) {
+        getMetaDataStoreDirectory() >> metadataStoreDir
+    }
+    def repository = Stub(ModuleComponentRepository) {
+        getId() >> "repo"
+    }
+    def id = DefaultModuleComponentIdentifier.newId("org.test", "test", "1.0")
+    def crossBuildCache = new CrossBuildModuleMetadataCache(100)
+    def metadata = mavenMetadataFactory(false).create(id).asImmutable()
+
+    def "reuses metadata stored by an earlier build"() {
+        given:
+        newBuildCache().cacheMetaData(repository, id, metadata)
+        metadataStoreDir.deleteDir()
+
+        when:
+        def cached = newBuildCache().getCachedModuleDescriptor(repository, id)
+
+        then:
+        cached.metadata.id == metadata.id
+        crossBuildCache.hitCount == 1
+    }
+
+    def "decodes metadata from an earlier build using the services of the current build"() {
+        given:
+        newBuildCache().cacheMetaData(repository, id, metadata)
+        def attributesFactory = TestUtil.attributesFactory()
+
+        when:
+        def cached = newBuildCache(mavenMetadataFactory(false, attributesFactory)).getCachedModuleDescriptor(repository, id)
+
+        then:
+        !cached.metadata.is(metadata)
+        cached.metadata.attributesFactory.is(attributesFactory)
+        crossBuildCache.hitCount == 1
+    }
+
+    def "loads metadata from the store when the persistent entry has changed"() {
+        given:
+        newBuildCache().cacheMetaData(repository, id, metadata)
+        def key = new ModuleComponentAtRepositoryKey("repo", id)
+        index[key] = ModuleMetadataCacheEntry.forMetaData(metadata, index[key].createTimestamp + 1)
+
+        when:
+        def cached = newBuildCache().getCachedModuleDescriptor(repository, id)
+
+        then:
+        cached.metadata.id == metadata.id
+        crossBuildCache.hitCount == 0
+        crossBuildCache.missCount == 1
+
+        when:
+        newBuildCache().getCachedModuleDescriptor(repository, id)
+
+        then:
+        crossBuildCache.hitCount == 1
+    }
+
+    def "does not use metadata from an earlier build when the descriptor has not been cached"() {
+        expect:
+        newBuildCache().getCachedModuleDescriptor(repository, id) == null
+        crossBuildCache.hitCount == 0
+    }
+
+    private DefaultModuleMetadataCache newBuildCache(MavenMutableModuleMetadataFactory metadataFactory = mavenMetadataFactory(false)) {
+        def attributesFactory = TestUtil.attributesFactory()
+        new DefaultModuleMetadataCache(
+            new BuildCommencedTimeProvider(),
+            cacheLockingManager,
+            artifactCacheMetadata,
+            moduleIdentifierFactory,
+            new AttributeContainerSerializer(attributesFactory, NamedObjectInstantiator.INSTANCE),
+            metadataFactory,
+            new IvyMutableModuleMetadataFactory(moduleIdentifierFactory, attributesFactory),
+            crossBuildCache)
+    }
+
+    private MavenMutableModuleMetadataFactory mavenMetadataFactory(boolean improvedPomSupport, ImmutableAttributesFactory attributesFactory = TestUtil.attributesFactory()) {
+        new MavenMutableModuleMetadataFactory(moduleIdentifierFactory, attributesFactory, TestUtil.objectInstantiator(), TestUtil.featurePreviews(improvedPomSupport))
+    }
+}
@@ -31,6 +31,8 @@ import org.gradle.testfixtures.internal.InMemoryCacheFactory
 import org.gradle.util.UsesNativeServices
 import org.junit.Rule
 
+import java.util.concurrent.TimeUnit
+
 @UsesNativeServices
 class DefaultTransformedFileCacheTest extends ConcurrentSpec {
     @Rule
@@ -77,6 +79,33 @@ class DefaultTransformedFileCacheTest extends ConcurrentSpec {
         0 * transform._
     }
 
+    def "moves transform outputs into the file store"() {
+        def transform = Mock(BiFunction)
+        def inputFile = tmpDir.file("a")
+        def workspace = null
+
+        when:
+        def result = cache.getResult(inputFile, HashCode.fromInt(123), transform)
+
+        then:
+        1 * snapshotter.snapshotAll(inputFile) >> snapshot(HashCode.fromInt(234))
+        1 * transform.apply(inputFile, _) >> { File file, File dir ->
+            workspace = dir
+            def r = new File(dir, "sub/a.1")
+            r.parentFile.mkdirs()
+            r.text = "result"
+            [dir, r]
+        }
+
+        and:
+        result.size() == 2
+        result[0].parentFile.parentFile == tmpDir.file("output/files")
+        result[0].name != workspace.name
+        result[1] == new File(result[0], "sub/a.1")
+        result[1].text == "result"
+        !workspace.exists()
+    }
+
     def "does not contain result before transform ran"() {
         given:
         def inputFile = tmpDir.file("a")
@@ -287,6 +316,7 @@ class DefaultTransformedFileCacheTest extends ConcurrentSpec {
         def transform = Mock(BiFunction)
         def failure = new RuntimeException()
         def inputFile = tmpDir.file("a")
+        def workspace = null
 
         when:
         cache.getResult(inputFile, HashCode.fromInt(123), transform)
@@ -298,11 +328,13 @@ class DefaultTransformedFileCacheTest extends ConcurrentSpec {
         and:
         1 * snapshotter.snapshotAll(inputFile) >> snapshot(HashCode.fromInt(456))
         1 * transform.apply(inputFile, _) >>  { File file, File dir ->
+            workspace = dir
             dir.mkdirs()
             new File(dir, "delete-me").text = "broken"
             throw failure
         }
         0 * transform._
+        !workspace.exists()
 
         when:
         def result = cache.getResult(inputFile, HashCode.fromInt(123), transform)
@@ -345,6 +377,20 @@ class DefaultTransformedFileCacheTest extends ConcurrentSpec {
         0 * transform._
     }
 
+    def "removes stale workspaces when the cache is opened"() {
+        def staleWorkspace = tmpDir.createDir("output/workspaces/stale")
+        staleWorkspace.file("result").text = "result"
+        staleWorkspace.lastModified = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(2)
+        def recentWorkspace = tmpDir.createDir("output/workspaces/recent")
+
+        when:
+        new DefaultTransformedFileCache(artifactCacheMetaData, cacheRepo, decorator, snapshotter)
+
+        then:
+        !staleWorkspace.exists()
+        recentWorkspace.exists()
+    }
+
     def snapshot(HashCode hashCode) {
         FileCollectionSnapshot snapshot = Stub(FileCollectionSnapshot)
         snapshot.appendToHasher(_) >> { BuildCacheHasher hasher -> hasher.putHash(hashCode) }
@@ -19,4 +19,11 @@ import org.gradle.launcher.daemon.diagnostics.DaemonStartupInfo;
 
 public interface DaemonStarter {
     DaemonStartupInfo startDaemon(boolean singleRun);
+
+    /**
+     * Starts a daemon that advertises itself as idle once it has started, without waiting for it to start. The daemon keeps starting if this process exits.
+     *
+     * @return the uid of the new daemon.
+     */
+    String startStandbyDaemon();
 }
@@ -15,6 +15,7 @@
  */
 package org.gradle.launcher.daemon.client;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import org.gradle.api.internal.specs.ExplainingSpec;
 import org.gradle.api.internal.specs.ExplainingSpecs;
@@ -48,6 +49,7 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import static java.lang.Thread.sleep;
 import static org.gradle.launcher.daemon.server.api.DaemonStateControl.State.Canceled;
@@ -60,16 +62,31 @@ public class DefaultDaemonConnector implements DaemonConnector {
     private static final Logger LOGGER = Logging.getLogger(DefaultDaemonConnector.class);
     public static final int DEFAULT_CONNECT_TIMEOUT = 30000;
     public static final int CANCELED_WAIT_TIMEOUT = 3000;
+    public static final String STANDBY_DAEMON_PROPERTY = "org.gradle.daemon.standby";
+    public static final int STANDBY_START_TIMEOUT = 60000;
     private final DaemonRegistry daemonRegistry;
     protected final OutgoingConnector connector;
     private final DaemonStarter daemonStarter;
     private final DaemonStartListener startListener;
     private final ProgressLoggerFactory progressLoggerFactory;
     private final Serializer<Message> serializer;
+    private final Executor standbyDaemonExecutor;
+    private final boolean startStandbyDaemon;
     private long connectTimeout = DefaultDaemonConnector.DEFAULT_CONNECT_TIMEOUT;
 
     public DefaultDaemonConnector(DaemonRegistry daemonRegistry, OutgoingConnector connector, DaemonStarter daemonStarter, DaemonStartListener startListener, ProgressLoggerFactory progressLoggerFactory, Serializer<Message> serializer) {
+        this(daemonRegistry, connector, daemonStarter, startListener, progressLoggerFactory, serializer, false);
+    }
+
+    public DefaultDaemonConnector(DaemonRegistry daemonRegistry, OutgoingConnector connector, DaemonStarter daemonStarter, DaemonStartListener startListener, ProgressLoggerFactory progressLoggerFactory, Serializer<Message> serializer, boolean startStandbyDaemon) {
+        this(daemonRegistry, connector, daemonStarter, startListener, progressLoggerFactory, serializer, startStandbyDaemon, new StandbyDaemonStartExecutor());
+    }
+
+    @VisibleForTesting
+    DefaultDaemonConnector(DaemonRegistry daemonRegistry, OutgoingConnector connector, DaemonStarter daemonStarter, DaemonStartListener startListener, ProgressLoggerFactory progressLoggerFactory, Serializer<Message> serializer, boolean startStandbyDaemon, Executor standbyDaemonExecutor) {
         this.serializer = serializer;
+        this.startStandbyDaemon = startStandbyDaemon;
+        this.standbyDaemonExecutor = standbyDaemonExecutor;
         Preconditions.checkNotNull(daemonRegistry);
         Preconditions.checkNotNull(connector);
         Preconditions.checkNotNull(daemonStarter);
@@ -116,6 +133,7 @@ public class DefaultDaemonConnector implements DaemonConnector {
         // Check to see if there are any compatible idle daemons
         DaemonClientConnection connection = connectToIdleDaemon(idleDaemons, constraint);
         if (connection != null) {
+            maybeStartStandbyDaemon(connection.getDaemon(), constraint);
             return connection;
         }
 
@@ -130,6 +148,65 @@ public class DefaultDaemonConnector implements DaemonConnector {
         return startDaemon(constraint);
     }
 
+    /**
+     * Starts an additional daemon in the background when standby daemons are enabled and the given idle daemon was the last compatible idle one, so that the next build
+     * with the same daemon parameters finds an idle daemon rather than waiting for a new one to start. At most one standby daemon is started at a time for each registry.
+     */
+    private void maybeStartStandbyDaemon(DaemonConnectDetails claimed, ExplainingSpec<DaemonContext> constraint) {
+        if (!startStandbyDaemon) {
+            return;
+        }
+        // The claimed daemon is still advertised as idle until it receives the build. Stale entries have already been removed while connecting
+        for (DaemonInfo daemon : daemonRegistry.getIdle()) {
+            if (!daemon.getUid().equals(claimed.getUid()) && constraint.isSatisfiedBy(daemon.getContext())) {
+                return;
+            }
+        }
+        if (!daemonRegistry.reserveStandbyStart(STANDBY_START_TIMEOUT)) {
+            LOGGER.debug("Not starting a standby Gradle daemon, as another one is already being started.");
+            return;
+        }
+        standbyDaemonExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    startStandbyDaemon();
+                } catch (Throwable t) {
+                    LOGGER.debug("Could not start standby Gradle daemon.", t);
+                }
+            }
+        });
+    }
+
+    private void startStandbyDaemon() {
+        String uid;
+        try {
+            uid = daemonStarter.startStandbyDaemon();
+        } catch (RuntimeException e) {
+            daemonRegistry.releaseStandbyStart();
+            throw e;
+        }
+        LOGGER.debug("Starting standby Gradle daemon {}", uid);
+
+        // The standby daemon advertises itself as idle and releases the reservation once it has started. This process may exit before then,
+        // in which case nothing else needs to happen. Otherwise, tell the listener about the daemon so that it can be stopped along with the others
+        CountdownTimer timer = Time.startCountdownTimer(connectTimeout);
+        do {
+            for (DaemonInfo daemonInfo : daemonRegistry.getAll()) {
+                if (daemonInfo.getUid().equals(uid)) {
+                    startListener.daemonStarted(daemonInfo);
+                    return;
+                }
+            }
+            try {
+                sleep(200L);
+            } catch (InterruptedException e) {
+                throw UncheckedException.throwAsUncheckedException(e);
+            }
+        } while (!timer.hasExpired());
+        LOGGER.debug("Timeout waiting for the standby Gradle daemon {} to register.", uid);
+    }
+
     private void handleStopEvents(Collection<DaemonInfo> idleDaemons, Collection<DaemonInfo> busyDaemons) {
         final List<DaemonStopEvent> stopEvents = daemonRegistry.getStopEvents();
 
@@ -289,4 +366,17 @@ public class DefaultDaemonConnector implements DaemonConnector {
             return exposeAsStale;
         }
     }
+
+    /**
+     * Starts each standby daemon from a background thread that does not keep this process alive. The daemon does not depend on this process once its
+     * process has been created.
+     */
+    private static class StandbyDaemonStartExecutor implements Executor {
+        @Override
+        public void execute(Runnable command) {
+            Thread starter = new Thread(command, "Standby daemon starter");
+            starter.setDaemon(true);
+            starter.start();
+        }
+    }
 }
@@ -15,6 +15,7 @@
  */
 package org.gradle.launcher.daemon.client;
 
+import com.google.common.io.ByteStreams;
 import org.gradle.api.GradleException;
 import org.gradle.api.UncheckedIOException;
 import org.gradle.api.internal.classpath.DefaultModuleRegistry;
@@ -47,6 +48,7 @@ import org.gradle.util.GradleVersion;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -69,7 +71,23 @@ public class DefaultDaemonStarter implements DaemonStarter {
 
     public DaemonStartupInfo startDaemon(boolean singleUse) {
         String daemonUid = UUID.randomUUID().toString();
+        List<String> daemonArgs = new ArrayList<String>();
+        InputStream stdInput = prepareDaemon(daemonUid, singleUse, false, daemonArgs);
+        return startProcess(daemonArgs, daemonDir.getVersionedDir(), stdInput);
+    }
 
+    public String startStandbyDaemon() {
+        String daemonUid = UUID.randomUUID().toString();
+        List<String> daemonArgs = new ArrayList<String>();
+        InputStream stdInput = prepareDaemon(daemonUid, false, true, daemonArgs);
+        startDetachedProcess(daemonArgs, daemonDir.getVersionedDir(), stdInput);
+        return daemonUid;
+    }
+
+    /**
+     * Adds the command line for the daemon process to the given list, and returns the configuration to send to the process via its standard input.
+     */
+    private InputStream prepareDaemon(String daemonUid, boolean singleUse, boolean standby, List<String> daemonArgs) {
         GradleInstallation gradleInstallation = CurrentGradleInstallation.get();
         ModuleRegistry registry = new DefaultModuleRegistry(gradleInstallation);
         ClassPath classpath;
@@ -92,7 +110,6 @@ public class DefaultDaemonStarter implements DaemonStarter {
 
         versionValidator.validate(daemonParameters);
 
-        List<String> daemonArgs = new ArrayList<String>();
         daemonArgs.add(daemonParameters.getEffectiveJvm().getJavaExecutable().getAbsolutePath());
 
         List<String> daemonOpts = daemonParameters.getEffectiveJvmArgs();
@@ -118,6 +135,7 @@ public class DefaultDaemonStarter implements DaemonStarter {
             encoder.writeSmallInt(daemonParameters.getIdleTimeout());
             encoder.writeSmallInt(daemonParameters.getPeriodicCheckInterval());
             encoder.writeBoolean(singleUse);
+            encoder.writeBoolean(standby);
             encoder.writeString(daemonUid);
             encoder.writeSmallInt(daemonOpts.size());
             for (String daemonOpt : daemonOpts) {
@@ -131,9 +149,7 @@ public class DefaultDaemonStarter implements DaemonStarter {
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
-        InputStream stdInput = buffer.getInputStream();
-
-        return startProcess(daemonArgs, daemonDir.getVersionedDir(), stdInput);
+        return buffer.getInputStream();
     }
 
     private DaemonStartupInfo startProcess(List<String> args, File workingDir, InputStream stdInput) {
@@ -167,4 +183,37 @@ public class DefaultDaemonStarter implements DaemonStarter {
         }
     }
 
+    private void startDetachedProcess(List<String> args, File workingDir, InputStream stdInput) {
+        LOGGER.debug("Starting standby daemon process: workingDir = {}, daemonArgs: {}", workingDir, args);
+        try {
+            GFileUtils.mkdirs(workingDir);
+
+            // Use the process directly rather than an exec handle, as an exec handle stops the process when this JVM exits.
+            // The daemon detaches itself from this process once it has started
+            final Process process = new ProcessBuilder(args).directory(workingDir).redirectErrorStream(true).start();
+            OutputStream processInput = process.getOutputStream();
+            try {
+                ByteStreams.copy(stdInput, processInput);
+            } finally {
+                processInput.close();
+            }
+
+            Thread outputReader = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    // Discard the output, so that the daemon does not block writing to it before it detaches
+                    try {
+                        ByteStreams.copy(process.getInputStream(), ByteStreams.nullOutputStream());
+                    } catch (IOException e) {
+                        LOGGER.debug("Could not read the output of the standby daemon process.", e);
+                    }
+                }
+            }, "Standby daemon output reader");
+            outputReader.setDaemon(true);
+            outputReader.start();
+        } catch (IOException e) {
+            throw new GradleException("Could not start Gradle daemon.", e);
+        }
+    }
+
 }
@@ -32,4 +32,9 @@ public interface DaemonServerConfiguration {
     List<String> getJvmOptions();
 
     boolean isSingleUse();
+
+    /**
+     * Whether this daemon was started ahead of time rather than for a particular client, and so should be made available to any client once started.
+     */
+    boolean isStandby();
 }
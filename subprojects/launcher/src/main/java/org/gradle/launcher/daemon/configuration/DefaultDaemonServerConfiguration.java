@@ -26,14 +26,20 @@ public class DefaultDaemonServerConfiguration implements DaemonServerConfigurati
     private final int idleTimeoutMs;
     private final int periodicCheckIntervalMs;
     private final boolean singleUse;
+    private final boolean standby;
     private final List<String> jvmOptions;
 
     public DefaultDaemonServerConfiguration(String daemonUid, File daemonBaseDir, int idleTimeoutMs, int periodicCheckIntervalMs, boolean singleUse, List<String> jvmOptions) {
+        this(daemonUid, daemonBaseDir, idleTimeoutMs, periodicCheckIntervalMs, singleUse, false, jvmOptions);
+    }
+
+    public DefaultDaemonServerConfiguration(String daemonUid, File daemonBaseDir, int idleTimeoutMs, int periodicCheckIntervalMs, boolean singleUse, boolean standby, List<String> jvmOptions) {
         this.daemonUid = daemonUid;
         this.daemonBaseDir = daemonBaseDir;
         this.idleTimeoutMs = idleTimeoutMs;
         this.periodicCheckIntervalMs = periodicCheckIntervalMs;
         this.singleUse = singleUse;
+        this.standby = standby;
         this.jvmOptions = jvmOptions;
     }
 
@@ -66,4 +72,9 @@ public class DefaultDaemonServerConfiguration implements DaemonServerConfigurati
     public boolean isSingleUse() {
         return singleUse;
     }
+
+    @Override
+    public boolean isStandby() {
+        return standby;
+    }
 }
@@ -45,6 +45,16 @@ public interface DaemonRegistry {
     List<DaemonStopEvent> getStopEvents();
     void removeStopEvents(Collection<DaemonStopEvent> stopEvents);
 
+    /**
+     * Reserves the start of a standby daemon, so that at most one standby daemon is started at a time for this registry.
+     *
+     * @param timeoutMillis how long the reservation is held if it is never released, for example because the client is killed
+     * @return false when another reservation is held and has not expired
+     */
+    boolean reserveStandbyStart(long timeoutMillis);
+
+    void releaseStandbyStart();
+
     static class EmptyRegistryException extends RuntimeException {
         public EmptyRegistryException(String message) {
             super(message);
@@ -41,15 +41,17 @@ public class DaemonRegistryContent implements Serializable {
 
     private final Map<Address, DaemonInfo> infosMap;
     private final List<DaemonStopEvent> stopEvents;
+    private long standbyStartExpiry;
 
     public DaemonRegistryContent() {
         infosMap = new HashMap<Address, DaemonInfo>();
         stopEvents = new ArrayList<DaemonStopEvent>();
     }
 
-    private DaemonRegistryContent(Map<Address, DaemonInfo> infosMap, List<DaemonStopEvent> stopEvents) {
+    private DaemonRegistryContent(Map<Address, DaemonInfo> infosMap, List<DaemonStopEvent> stopEvents, long standbyStartExpiry) {
         this.infosMap = infosMap;
         this.stopEvents = stopEvents;
+        this.standbyStartExpiry = standbyStartExpiry;
     }
 
     /**
@@ -94,6 +96,20 @@ public class DaemonRegistryContent implements Serializable {
         stopEvents.removeAll(events);
     }
 
+    /**
+     * Returns the time at which the current reservation to start a standby daemon expires, or 0 when there is no reservation.
+     */
+    public long getStandbyStartExpiry() {
+        return standbyStartExpiry;
+    }
+
+    /**
+     * Sets the time at which the reservation to start a standby daemon expires. Use 0 to release the reservation.
+     */
+    public void setStandbyStartExpiry(long standbyStartExpiry) {
+        this.standbyStartExpiry = standbyStartExpiry;
+    }
+
     /**
      * sets the daemonInfo for given address
      */
@@ -108,6 +124,7 @@ public class DaemonRegistryContent implements Serializable {
      * 2 - daemon infos
      * 3 - number of stop events
      * 4 - stop events
+     * 5 - standby daemon start reservation expiry
      */
     private static class Serializer implements org.gradle.internal.serialize.Serializer<DaemonRegistryContent> {
 
@@ -117,7 +134,8 @@ public class DaemonRegistryContent implements Serializable {
                 List<Address> addresses = readAdresses(decoder);
                 Map<Address, DaemonInfo> infosMap = readInfosMap(decoder, addresses);
                 List<DaemonStopEvent> stopEvents = readStopEvents(decoder);
-                return new DaemonRegistryContent(infosMap, stopEvents);
+                long standbyStartExpiry = decoder.readLong();
+                return new DaemonRegistryContent(infosMap, stopEvents, standbyStartExpiry);
             }
             return null;
         }
@@ -151,6 +169,7 @@ public class DaemonRegistryContent implements Serializable {
                 writeAddresses(encoder, infosSize, addresses);
                 writeDaemonInfos(encoder, infosMap, addresses);
                 writeStopEvents(encoder, registry);
+                encoder.writeLong(registry.standbyStartExpiry);
             } else {
                 encoder.writeBoolean(false);
             }
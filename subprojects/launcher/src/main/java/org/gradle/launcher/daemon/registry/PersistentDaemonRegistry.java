@@ -32,6 +32,7 @@ import java.io.File;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -208,6 +209,49 @@ public class PersistentDaemonRegistry implements DaemonRegistry {
         }
     }
 
+    @Override
+    public boolean reserveStandbyStart(final long timeoutMillis) {
+        final AtomicBoolean reserved = new AtomicBoolean();
+        lock.lock();
+        LOGGER.debug("Reserving the start of a standby daemon");
+        try {
+            cache.update(new PersistentStateCache.UpdateAction<DaemonRegistryContent>() {
+                public DaemonRegistryContent update(DaemonRegistryContent content) {
+                    if (content == null) { // registry doesn't exist yet
+                        content = new DaemonRegistryContent();
+                    }
+                    long now = System.currentTimeMillis();
+                    if (content.getStandbyStartExpiry() <= now) {
+                        content.setStandbyStartExpiry(now + timeoutMillis);
+                        reserved.set(true);
+                    }
+                    return content;
+                }
+            });
+        } finally {
+            lock.unlock();
+        }
+        return reserved.get();
+    }
+
+    @Override
+    public void releaseStandbyStart() {
+        lock.lock();
+        LOGGER.debug("Releasing the reservation to start a standby daemon");
+        try {
+            cache.update(new PersistentStateCache.UpdateAction<DaemonRegistryContent>() {
+                public DaemonRegistryContent update(DaemonRegistryContent content) {
+                    if (content != null) {
+                        content.setStandbyStartExpiry(0);
+                    }
+                    return content;
+                }
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
     public void store(final DaemonInfo info) {
         final Address address = info.getAddress();
         final DaemonContext daemonContext = info.getContext();
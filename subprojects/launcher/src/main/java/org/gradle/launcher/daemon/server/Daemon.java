@@ -59,6 +59,7 @@ public class Daemon implements Stoppable {
     private final ScheduledExecutorService scheduledExecutorService;
     private final ExecutorFactory executorFactory;
     private final ListenerManager listenerManager;
+    private final boolean standby;
 
     private DaemonStateCoordinator stateCoordinator;
 
@@ -73,8 +74,9 @@ public class Daemon implements Stoppable {
      *
      * @param connector The provider of server connections for this daemon
      * @param daemonRegistry The registry that this daemon should advertise itself in
+     * @param standby Whether this daemon should advertise itself as idle rather than busy, as it was not started for a particular client
      */
-    public Daemon(DaemonServerConnector connector, DaemonRegistry daemonRegistry, DaemonContext daemonContext, DaemonCommandExecuter commandExecuter, ExecutorFactory executorFactory, ListenerManager listenerManager) {
+    public Daemon(DaemonServerConnector connector, DaemonRegistry daemonRegistry, DaemonContext daemonContext, DaemonCommandExecuter commandExecuter, ExecutorFactory executorFactory, ListenerManager listenerManager, boolean standby) {
         this.connector = connector;
         this.daemonRegistry = daemonRegistry;
         this.daemonContext = daemonContext;
@@ -82,6 +84,7 @@ public class Daemon implements Stoppable {
         this.executorFactory = executorFactory;
         this.scheduledExecutorService = executorFactory.createScheduled("Daemon periodic checks", 1);
         this.listenerManager = listenerManager;
+        this.standby = standby;
     }
 
     public String getUid() {
@@ -168,7 +171,7 @@ public class Daemon implements Stoppable {
             };
             connectorAddress = connector.start(connectionHandler, connectionErrorHandler);
             LOGGER.debug("Daemon starting at: {}, with address: {}", new Date(), connectorAddress);
-            registryUpdater.onStart(connectorAddress);
+            registryUpdater.onStart(connectorAddress, standby);
         } finally {
             lifecycleLock.unlock();
         }
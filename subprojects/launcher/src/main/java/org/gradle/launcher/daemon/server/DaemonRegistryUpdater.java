@@ -74,10 +74,21 @@ class DaemonRegistryUpdater implements Stoppable {
     }
 
     public void onStart(Address connectorAddress) {
+        onStart(connectorAddress, false);
+    }
+
+    /**
+     * Advertises the daemon. A daemon starts as busy so that only the client that started it can connect to it. A standby daemon was not started
+     * for a particular client, so it starts as idle instead and releases the reservation that its client took to start it.
+     */
+    public void onStart(Address connectorAddress, boolean standby) {
         LOGGER.info("{}{}", DaemonMessages.ADVERTISING_DAEMON, connectorAddress);
         LOGGER.debug("Advertised daemon context: {}", daemonContext);
         this.connectorAddress = connectorAddress;
-        daemonRegistry.store(new DaemonInfo(connectorAddress, daemonContext, token, Busy));
+        daemonRegistry.store(new DaemonInfo(connectorAddress, daemonContext, token, standby ? Idle : Busy));
+        if (standby) {
+            daemonRegistry.releaseStandbyStart();
+        }
     }
 
     public void onExpire(String reason, DaemonExpirationStatus status) {
@@ -58,6 +58,7 @@ import org.gradle.launcher.daemon.server.health.DaemonHealthCheck;
 import org.gradle.launcher.daemon.server.health.DaemonHealthStats;
 import org.gradle.launcher.daemon.server.health.DaemonMemoryStatus;
 import org.gradle.launcher.daemon.server.health.HealthExpirationStrategy;
+import org.gradle.launcher.daemon.server.health.MemoryPressureMonitor;
 import org.gradle.launcher.daemon.server.scaninfo.DaemonScanInfo;
 import org.gradle.launcher.daemon.server.scaninfo.DefaultDaemonScanInfo;
 import org.gradle.launcher.daemon.server.stats.DaemonRunningStats;
@@ -131,7 +132,11 @@ public class DaemonServices extends DefaultServiceRegistry {
         return new DaemonHealthStats(runningStats, executorFactory);
     }
 
-    protected ImmutableList<DaemonCommandAction> createDaemonCommandActions(DaemonContext daemonContext, ProcessEnvironment processEnvironment, DaemonHealthStats healthStats, DaemonHealthCheck healthCheck, BuildExecuter buildActionExecuter, DaemonRunningStats runningStats) {
+    protected MemoryPressureMonitor createMemoryPressureMonitor(DaemonMemoryStatus memoryStatus, ListenerManager listenerManager, ExecutorFactory executorFactory) {
+        return new MemoryPressureMonitor(memoryStatus, listenerManager, executorFactory);
+    }
+
+    protected ImmutableList<DaemonCommandAction> createDaemonCommandActions(DaemonContext daemonContext, ProcessEnvironment processEnvironment, DaemonHealthStats healthStats, DaemonHealthCheck healthCheck, MemoryPressureMonitor memoryPressureMonitor, BuildExecuter buildActionExecuter, DaemonRunningStats runningStats) {
         File daemonLog = getDaemonLogFile();
         DaemonDiagnostics daemonDiagnostics = new DaemonDiagnostics(daemonLog, daemonContext.getPid());
         return ImmutableList.of(
@@ -142,7 +147,7 @@ public class DaemonServices extends DefaultServiceRegistry {
             new StartBuildOrRespondWithBusy(daemonDiagnostics), // from this point down, the daemon is 'busy'
             new EstablishBuildEnvironment(processEnvironment),
             new LogToClient(loggingManager, daemonDiagnostics), // from this point down, logging is sent back to the client
-            new LogAndCheckHealth(healthStats, healthCheck),
+            new LogAndCheckHealth(healthStats, healthCheck, memoryPressureMonitor),
             new ForwardClientInput(),
             new RequestStopIfSingleUsedDaemon(),
             new ResetDeprecationLogger(),
@@ -167,7 +172,8 @@ public class DaemonServices extends DefaultServiceRegistry {
             get(DaemonContext.class),
             new DaemonCommandExecuter(configuration, actions),
             get(ExecutorFactory.class),
-            get(ListenerManager.class)
+            get(ListenerManager.class),
+            configuration.isStandby()
         );
     }
 }
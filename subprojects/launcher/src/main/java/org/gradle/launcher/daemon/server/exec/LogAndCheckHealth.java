@@ -24,6 +24,7 @@ import org.gradle.launcher.daemon.server.api.DaemonCommandExecution;
 import org.gradle.launcher.daemon.server.health.DaemonHealthCheck;
 import org.gradle.launcher.daemon.server.health.DaemonHealthStats;
 import org.gradle.launcher.daemon.server.health.HealthLogger;
+import org.gradle.launcher.daemon.server.health.MemoryPressureMonitor;
 
 public class LogAndCheckHealth implements DaemonCommandAction {
 
@@ -31,16 +32,18 @@ public class LogAndCheckHealth implements DaemonCommandAction {
 
     private final DaemonHealthStats stats;
     private final DaemonHealthCheck healthCheck;
+    private final MemoryPressureMonitor memoryPressureMonitor;
     private final HealthLogger logger;
 
-    public LogAndCheckHealth(DaemonHealthStats stats, DaemonHealthCheck healthCheck) {
-        this(stats, healthCheck, new HealthLogger());
+    public LogAndCheckHealth(DaemonHealthStats stats, DaemonHealthCheck healthCheck, MemoryPressureMonitor memoryPressureMonitor) {
+        this(stats, healthCheck, memoryPressureMonitor, new HealthLogger());
     }
 
     @VisibleForTesting
-    LogAndCheckHealth(DaemonHealthStats stats, DaemonHealthCheck healthCheck, HealthLogger logger) {
+    LogAndCheckHealth(DaemonHealthStats stats, DaemonHealthCheck healthCheck, MemoryPressureMonitor memoryPressureMonitor, HealthLogger logger) {
         this.stats = stats;
         this.healthCheck = healthCheck;
+        this.memoryPressureMonitor = memoryPressureMonitor;
         this.logger = logger;
     }
 
@@ -52,7 +55,12 @@ public class LogAndCheckHealth implements DaemonCommandAction {
         }
 
         logger.logHealth(stats, LOG);
-        execution.proceed();
+        memoryPressureMonitor.startMonitoring();
+        try {
+            execution.proceed();
+        } finally {
+            memoryPressureMonitor.stopMonitoring();
+        }
 
         // Execute the health check that should send out a DaemonExpiration event
         // if the daemon is unhealthy
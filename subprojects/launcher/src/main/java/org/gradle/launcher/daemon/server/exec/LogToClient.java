@@ -30,6 +30,8 @@ import org.gradle.launcher.daemon.protocol.Build;
 import org.gradle.launcher.daemon.server.api.DaemonCommandExecution;
 import org.gradle.launcher.daemon.server.api.DaemonConnection;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
@@ -38,6 +40,7 @@ public class LogToClient extends BuildCommandOnly {
 
     public static final String DISABLE_OUTPUT = "org.gradle.daemon.disable-output";
     private static final Logger LOGGER = Logging.getLogger(LogToClient.class);
+    private static final int MAX_BATCH_SIZE = 1000;
 
     private final LoggingOutputInternal loggingOutput;
     private final DaemonDiagnostics diagnostics;
@@ -68,6 +71,7 @@ public class LogToClient extends BuildCommandOnly {
     private class AsynchronousLogDispatcher extends Thread {
         private final CountDownLatch completionLock = new CountDownLatch(1);
         private final Queue<OutputEvent> eventQueue = new ConcurrentLinkedQueue<OutputEvent>();
+        private final List<OutputEvent> batch = new ArrayList<OutputEvent>();
         private final DaemonConnection connection;
         private final OutputEventListener listener;
         private volatile boolean shouldStop;
@@ -103,11 +107,8 @@ public class LogToClient extends BuildCommandOnly {
         public void run() {
             try {
                 while (!shouldStop) {
-                    OutputEvent event = eventQueue.poll();
-                    if (event == null) {
+                    if (!dispatchQueuedEvents()) {
                         Thread.sleep(10);
-                    } else {
-                        dispatchAsync(event);
                     }
                 }
             } catch (InterruptedException ex) {
@@ -121,18 +122,35 @@ public class LogToClient extends BuildCommandOnly {
         }
 
         private void sendRemainingEvents() {
+            while (dispatchQueuedEvents()) {
+                // Keep going until the queue is empty
+            }
+        }
+
+        /**
+         * Sends the events that are currently queued as a single batch, so that the connection is flushed once per batch rather than once per event.
+         *
+         * @return false if there were no events to send.
+         */
+        private boolean dispatchQueuedEvents() {
             OutputEvent event;
-            while ((event = eventQueue.poll()) != null) {
-                dispatchAsync(event);
+            while (batch.size() < MAX_BATCH_SIZE && (event = eventQueue.poll()) != null) {
+                batch.add(event);
+            }
+            if (batch.isEmpty()) {
+                return false;
             }
+            dispatchAsync(batch);
+            batch.clear();
+            return true;
         }
 
-        private void dispatchAsync(OutputEvent event) {
+        private void dispatchAsync(List<OutputEvent> events) {
             if (unableToSend) {
                 return;
             }
             try {
-                connection.logEvent(event);
+                connection.logEvents(events);
             } catch (Exception ex) {
                 shouldStop = true;
                 unableToSend = true;
@@ -69,6 +69,23 @@ public class DaemonMemoryStatus {
         });
     }
 
+    /**
+     * Whether the tenured space stays nearly full after garbage collection, regardless of how often it is collected.
+     * This happens before the tenured space is exhausted, so it can be used to reduce the load on the heap while a build is running.
+     */
+    public boolean isTenuredSpaceLow() {
+        GarbageCollectionStats gcStats = stats.getGcMonitor().getTenuredStats();
+
+        return exceedsThreshold(TENURED, gcStats, new Spec<GarbageCollectionStats>() {
+            @Override
+            public boolean isSatisfiedBy(GarbageCollectionStats gcStats) {
+                return tenuredUsageThreshold != 0
+                    && gcStats.getEventCount() >= 5
+                    && gcStats.getUsage() >= tenuredUsageThreshold;
+            }
+        });
+    }
+
     public boolean isPermGenSpaceExhausted() {
         GarbageCollectionStats gcStats = stats.getGcMonitor().getPermGenStats();
 
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.launcher.daemon.server.health;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.internal.concurrent.ExecutorFactory;
+import org.gradle.internal.concurrent.ManagedScheduledExecutor;
+import org.gradle.internal.concurrent.Stoppable;
+import org.gradle.internal.event.ListenerManager;
+import org.gradle.internal.work.MemoryPressureListener;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.gradle.launcher.daemon.server.health.gc.GarbageCollectionMonitor.POLL_INTERVAL_SECONDS;
+
+/**
+ * Samples the tenured space while a build is running and notifies the {@link MemoryPressureListener}s when it stays nearly full,
+ * so that fewer workers run concurrently until it recovers.
+ */
+public class MemoryPressureMonitor implements Stoppable {
+
+    private static final Logger LOGGER = Logging.getLogger(MemoryPressureMonitor.class);
+
+    private final DaemonMemoryStatus memoryStatus;
+    private final MemoryPressureListener listener;
+    private final ManagedScheduledExecutor scheduler;
+    private final Object lock = new Object();
+    private ScheduledFuture<?> sampling;
+    private boolean lowOnMemory;
+
+    public MemoryPressureMonitor(DaemonMemoryStatus memoryStatus, ListenerManager listenerManager, ExecutorFactory executorFactory) {
+        this(memoryStatus, listenerManager.getBroadcaster(MemoryPressureListener.class), executorFactory.createScheduled("Daemon memory pressure monitor", 1));
+    }
+
+    @VisibleForTesting
+    MemoryPressureMonitor(DaemonMemoryStatus memoryStatus, MemoryPressureListener listener, ManagedScheduledExecutor scheduler) {
+        this.memoryStatus = memoryStatus;
+        this.listener = listener;
+        this.scheduler = scheduler;
+    }
+
+    public void startMonitoring() {
+        synchronized (lock) {
+            if (sampling != null) {
+                return;
+            }
+            sampling = scheduler.scheduleAtFixedRate(new Runnable() {
+                @Override
+                public void run() {
+                    checkMemoryPressure();
+                }
+            }, POLL_INTERVAL_SECONDS, POLL_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    public void stopMonitoring() {
+        synchronized (lock) {
+            if (sampling != null) {
+                sampling.cancel(false);
+                sampling = null;
+            }
+            // Do not carry the reduced number of workers over into the next build
+            updateMemoryPressure(false);
+        }
+    }
+
+    @VisibleForTesting
+    void checkMemoryPressure() {
+        synchronized (lock) {
+            if (sampling == null) {
+                return;
+            }
+            updateMemoryPressure(memoryStatus.isTenuredSpaceLow());
+        }
+    }
+
+    private void updateMemoryPressure(boolean lowOnMemory) {
+        if (this.lowOnMemory == lowOnMemory) {
+            return;
+        }
+        this.lowOnMemory = lowOnMemory;
+        if (lowOnMemory) {
+            LOGGER.info("JVM tenured space is nearly full, reducing the number of concurrently running workers.");
+        } else {
+            LOGGER.info("JVM tenured space has recovered, no longer reducing the number of concurrently running workers.");
+        }
+        listener.onMemoryPressureChange(lowOnMemory);
+    }
+
+    @Override
+    public void stop() {
+        scheduler.stop();
+    }
+}
@@ -31,6 +31,8 @@ import org.gradle.launcher.daemon.registry.DaemonInfo
 import org.gradle.launcher.daemon.registry.EmbeddedDaemonRegistry
 import spock.lang.Specification
 
+import java.util.concurrent.Executor
+
 import static org.gradle.launcher.daemon.server.api.DaemonStateControl.State.Busy
 import static org.gradle.launcher.daemon.server.api.DaemonStateControl.State.Idle
 
@@ -39,6 +41,8 @@ class DefaultDaemonConnectorTest extends Specification {
     def javaHome = new File("tmp")
     def connectTimeoutSecs = 1
     def daemonCounter = 0
+    def startListener = Mock(DaemonStartListener)
+    def standbyStarts = []
 
     class OutgoingConnectorStub implements OutgoingConnector {
         ConnectCompletion connect(Address address) throws ConnectException {
@@ -57,14 +61,16 @@ class DefaultDaemonConnectorTest extends Specification {
         }
     }
 
-    def createConnector() {
+    def createConnector(boolean startStandbyDaemon = false) {
         def connector = Spy(DefaultDaemonConnector, constructorArgs: [
                 new EmbeddedDaemonRegistry(),
                 Spy(OutgoingConnectorStub),
-                { startBusyDaemon() } as DaemonStarter,
-                Stub(DaemonStartListener),
+                [startDaemon: { startBusyDaemon() }, startStandbyDaemon: { startStandbyDaemon() }] as DaemonStarter,
+                startListener,
                 Stub(ProgressLoggerFactory),
-                Stub(Serializer)]
+                Stub(Serializer),
+                startStandbyDaemon,
+                { standbyStarts << it } as Executor]
         )
         connector.connectTimeout = connectTimeoutSecs * 1000
         connector
@@ -78,6 +84,13 @@ class DefaultDaemonConnectorTest extends Specification {
         return new DaemonStartupInfo(daemonNum.toString(), null, null);
     }
 
+    def startStandbyDaemon() {
+        // A standby daemon advertises itself as idle and releases the reservation taken to start it
+        startIdleDaemon()
+        registry.releaseStandbyStart()
+        return (daemonCounter - 1).toString()
+    }
+
     def startIdleDaemon() {
         def daemonNum = daemonCounter++
         DaemonContext context = new DefaultDaemonContext(daemonNum.toString(), javaHome, javaHome, daemonNum, 1000, [])
@@ -87,6 +100,10 @@ class DefaultDaemonConnectorTest extends Specification {
 
     def theConnector
 
+    def enableStandbyDaemons() {
+        theConnector = createConnector(true)
+    }
+
     def DefaultDaemonConnector getConnector() {
         if (theConnector == null) {
             theConnector = createConnector()
@@ -162,6 +179,115 @@ class DefaultDaemonConnectorTest extends Specification {
         numAllDaemons == 2
     }
 
+    def "connect() starts a standby daemon when the last compatible idle daemon is claimed"() {
+        given:
+        enableStandbyDaemons()
+        startIdleDaemon()
+
+        when:
+        def connection = connector.connect({true} as ExplainingSpec)
+
+        then:
+        connection && connection.connection.num == 0
+        standbyStarts.size() == 1
+        numAllDaemons == 1
+
+        when:
+        standbyStarts[0].run()
+
+        then:
+        1 * startListener.daemonStarted({ it.uid == "1" })
+
+        and:
+        numAllDaemons == 2
+        registry.idle.find { it.uid == "1" }
+        registry.reserveStandbyStart(DefaultDaemonConnector.STANDBY_START_TIMEOUT)
+    }
+
+    def "connect() does not start a standby daemon after starting a new daemon"() {
+        given:
+        enableStandbyDaemons()
+
+        when:
+        def connection = connector.connect({true} as ExplainingSpec)
+
+        then:
+        connection && connection.connection.num == 0
+        1 * startListener.daemonStarted({ it.uid == "0" })
+        standbyStarts.empty
+        numAllDaemons == 1
+    }
+
+    def "connect() starts at most one standby daemon at a time"() {
+        given:
+        enableStandbyDaemons()
+        startIdleDaemon()
+
+        when:
+        connector.connect({true} as ExplainingSpec)
+        connector.connect({true} as ExplainingSpec)
+
+        then:
+        standbyStarts.size() == 1
+    }
+
+    def "connect() does not start a standby daemon while other compatible idle daemons remain"() {
+        given:
+        enableStandbyDaemons()
+        startIdleDaemon()
+        startIdleDaemon()
+
+        when:
+        connector.connect({true} as ExplainingSpec)
+
+        then:
+        standbyStarts.empty
+        numAllDaemons == 2
+    }
+
+    def "connect() starts a standby daemon when the other compatible idle daemons are stale"() {
+        given:
+        enableStandbyDaemons()
+        startIdleDaemon()
+        startIdleDaemon()
+        // The first daemon tried is stale
+        connector.connector.connect(_ as Address) >> { throw new ConnectException("Problem!", new RuntimeException("foo")) } >> { callRealMethod() }
+
+        when:
+        def connection = connector.connect({true} as ExplainingSpec)
+
+        then:
+        connection
+        numAllDaemons == 1
+        standbyStarts.size() == 1
+    }
+
+    def "connect() starts a standby daemon when only incompatible idle daemons remain"() {
+        given:
+        enableStandbyDaemons()
+        startIdleDaemon()
+        startIdleDaemon()
+
+        when:
+        def connection = connector.connect({it.pid == 1} as DummyExplainingSpec)
+
+        then:
+        connection && connection.connection.num == 1
+        standbyStarts.size() == 1
+    }
+
+    def "connect() does not start a standby daemon when not enabled"() {
+        given:
+        startIdleDaemon()
+
+        when:
+        connector.connect({true} as ExplainingSpec)
+
+        then:
+        standbyStarts.empty
+        numAllDaemons == 1
+    }
+
     def "connect() will not use existing connection if it fails the compatibility spec"() {
         given:
         startIdleDaemon()
@@ -42,6 +42,7 @@ import static org.gradle.launcher.daemon.server.api.DaemonStateControl.State.*;
 public class EmbeddedDaemonRegistry implements DaemonRegistry {
     private final List<DaemonStopEvent> stopEvents = Lists.newCopyOnWriteArrayList();
     private final Map<Address, DaemonInfo> daemonInfos = new ConcurrentHashMap<Address, DaemonInfo>();
+    private long standbyStartExpiry;
     private final Spec<DaemonInfo> allSpec = new Spec<DaemonInfo>() {
         public boolean isSatisfiedBy(DaemonInfo entry) {
             return true;
@@ -116,6 +117,21 @@ public class EmbeddedDaemonRegistry implements DaemonRegistry {
         stopEvents.removeAll(events);
     }
 
+    @Override
+    public synchronized boolean reserveStandbyStart(long timeoutMillis) {
+        long now = System.currentTimeMillis();
+        if (standbyStartExpiry > now) {
+            return false;
+        }
+        standbyStartExpiry = now + timeoutMillis;
+        return true;
+    }
+
+    @Override
+    public synchronized void releaseStandbyStart() {
+        standbyStartExpiry = 0;
+    }
+
     private List<DaemonInfo> daemonInfosOfEntriesMatching(Spec<DaemonInfo> spec) {
         List<DaemonInfo> matches = new ArrayList<DaemonInfo>();
         for (DaemonInfo daemonInfo : daemonInfos.values()) {
@@ -53,6 +53,28 @@ class PersistentDaemonRegistryTest extends Specification {
         registry.all.empty
     }
 
+    def "allows one standby daemon start reservation at a time"() {
+        given:
+        def otherClient = new PersistentDaemonRegistry(file, lockManager, Stub(Chmod))
+
+        expect:
+        registry.reserveStandbyStart(60000)
+        !otherClient.reserveStandbyStart(60000)
+        !registry.reserveStandbyStart(60000)
+
+        when:
+        registry.releaseStandbyStart()
+
+        then:
+        otherClient.reserveStandbyStart(60000)
+    }
+
+    def "standby daemon start reservation expires"() {
+        expect:
+        registry.reserveStandbyStart(0)
+        registry.reserveStandbyStart(60000)
+    }
+
     def "safely removes from registry file"() {
         given:
         def address = address()
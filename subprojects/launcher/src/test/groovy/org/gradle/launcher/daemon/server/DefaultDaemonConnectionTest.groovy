@@ -16,13 +16,17 @@
 
 package org.gradle.launcher.daemon.server
 
+import org.gradle.api.logging.LogLevel
+import org.gradle.internal.logging.events.LogEvent
 import org.gradle.launcher.daemon.protocol.CloseInput
 import org.gradle.launcher.daemon.protocol.ForwardInput
+import org.gradle.launcher.daemon.protocol.OutputMessage
 import org.gradle.launcher.daemon.server.api.StdinHandler
 import org.gradle.internal.remote.internal.MessageIOException
 import org.gradle.internal.remote.internal.RemoteConnection
 import org.gradle.util.ConcurrentSpecification
 
+import java.util.concurrent.CopyOnWriteArrayList
 import java.util.concurrent.CountDownLatch
 import java.util.concurrent.TimeUnit
 
@@ -347,18 +351,34 @@ class DefaultDaemonConnectionTest extends ConcurrentSpecification {
         result == ["incoming1", "incoming2"]
     }
 
+    def "sends log events in order and flushes once per batch"() {
+        def event1 = new LogEvent(0, "category", LogLevel.LIFECYCLE, "message 1", null)
+        def event2 = new LogEvent(0, "category", LogLevel.LIFECYCLE, "message 2", null)
+        def event3 = new LogEvent(0, "category", LogLevel.LIFECYCLE, "message 3", null)
+
+        when:
+        daemonConnection.logEvents([event1, event2])
+        daemonConnection.logEvents([event3])
+
+        then:
+        connection.dispatched.collect { it instanceof OutputMessage ? it.event : it } == [event1, event2, TestConnection.FLUSH, event3, TestConnection.FLUSH]
+    }
+
     static class TestConnection implements RemoteConnection<Object> {
+        static final Object FLUSH = "flush"
         final Object lock = new Object()
         final Object endInput = new Object()
         final LinkedList<Object> receiveQueue = new LinkedList<Object>()
 
+        final List<Object> dispatched = new CopyOnWriteArrayList<Object>()
+
         void dispatch(Object message) {
-            throw new UnsupportedOperationException()
+            dispatched << message
         }
 
         @Override
         void flush() throws MessageIOException {
-            throw new UnsupportedOperationException()
+            dispatched << FLUSH
         }
 
         void queueIncoming(Object message) {
@@ -21,6 +21,7 @@ import org.gradle.launcher.daemon.server.health.DaemonHealthCheck
 import org.gradle.launcher.daemon.server.health.DaemonHealthStats
 import org.gradle.launcher.daemon.server.health.DaemonMemoryStatus
 import org.gradle.launcher.daemon.server.health.HealthLogger
+import org.gradle.launcher.daemon.server.health.MemoryPressureMonitor
 import spock.lang.Specification
 
 class LogAndCheckHealthTest extends Specification {
@@ -29,7 +30,8 @@ class LogAndCheckHealthTest extends Specification {
     def status = Mock(DaemonMemoryStatus)
     def logger = Mock(HealthLogger)
     def healthCheck = Mock(DaemonHealthCheck)
-    def tracker = new LogAndCheckHealth(stats, healthCheck, logger)
+    def memoryPressureMonitor = Mock(MemoryPressureMonitor)
+    def tracker = new LogAndCheckHealth(stats, healthCheck, memoryPressureMonitor, logger)
 
     def "does not track single use daemon"() {
         when:
@@ -48,4 +50,34 @@ class LogAndCheckHealthTest extends Specification {
         then:
         1 * healthCheck.executeHealthCheck()
     }
+
+    def "monitors memory pressure while the build runs"() {
+        when:
+        tracker.execute(exec)
+
+        then:
+        1 * memoryPressureMonitor.startMonitoring()
+
+        then:
+        1 * exec.proceed()
+
+        then:
+        1 * memoryPressureMonitor.stopMonitoring()
+    }
+
+    def "stops monitoring memory pressure when the build fails"() {
+        def failure = new RuntimeException()
+
+        when:
+        tracker.execute(exec)
+
+        then:
+        1 * memoryPressureMonitor.startMonitoring()
+        1 * exec.proceed() >> { throw failure }
+        1 * memoryPressureMonitor.stopMonitoring()
+
+        and:
+        def e = thrown(RuntimeException)
+        e == failure
+    }
 }
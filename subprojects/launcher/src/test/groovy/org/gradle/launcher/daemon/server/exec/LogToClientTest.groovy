@@ -0,0 +1,124 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.launcher.daemon.server.exec
+
+import org.gradle.api.logging.LogLevel
+import org.gradle.initialization.BuildClientMetaData
+import org.gradle.internal.invocation.BuildAction
+import org.gradle.internal.logging.LoggingOutputInternal
+import org.gradle.internal.logging.events.LogEvent
+import org.gradle.internal.logging.events.OutputEventListener
+import org.gradle.launcher.daemon.diagnostics.DaemonDiagnostics
+import org.gradle.launcher.daemon.protocol.Build
+import org.gradle.launcher.daemon.server.api.DaemonCommandExecution
+import org.gradle.launcher.daemon.server.api.DaemonConnection
+import org.gradle.launcher.exec.BuildActionParameters
+import spock.lang.Specification
+
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
+
+class LogToClientTest extends Specification {
+    def loggingOutput = Mock(LoggingOutputInternal)
+    def connection = Mock(DaemonConnection)
+    def execution = Mock(DaemonCommandExecution)
+    def parameters = Stub(BuildActionParameters) {
+        getLogLevel() >> LogLevel.LIFECYCLE
+    }
+    def build = new Build(UUID.randomUUID(), [] as byte[], Stub(BuildAction), Stub(BuildClientMetaData), 0, parameters)
+    def action = new LogToClient(loggingOutput, new DaemonDiagnostics(new File("daemon.log"), 123L))
+    def batches = new CopyOnWriteArrayList<List>()
+    OutputEventListener listener
+
+    def setup() {
+        _ * execution.command >> build
+        _ * execution.connection >> connection
+        _ * loggingOutput.addOutputEventListener(_) >> { OutputEventListener l -> listener = l }
+    }
+
+    def "sends events to the client in order and in batches"() {
+        def events = (0..<2500).collect { new LogEvent(it, "category", LogLevel.LIFECYCLE, "message $it", null) }
+        def allSubmitted = new CountDownLatch(1)
+
+        given:
+        connection.logEvents(_) >> { Collection batch ->
+            batches << new ArrayList(batch)
+            // Hold the first batch until all events have been queued
+            allSubmitted.await()
+        }
+
+        when:
+        action.execute(execution)
+
+        then:
+        1 * execution.proceed() >> {
+            events.each { listener.onOutput(it) }
+            allSubmitted.countDown()
+        }
+
+        and:
+        batches.flatten() == events
+        batches.every { it.size() <= 1000 }
+        // The events queued while the first batch was sent need at least 2 and at most 3 more batches
+        batches.size() <= 4
+    }
+
+    def "sends events that are still queued when the build finishes"() {
+        def events = (0..<20).collect { new LogEvent(it, "category", LogLevel.LIFECYCLE, "message $it", null) }
+        def buildFinished = new CountDownLatch(1)
+
+        given:
+        connection.logEvents(_) >> { Collection batch ->
+            batches << new ArrayList(batch)
+            buildFinished.await()
+        }
+
+        when:
+        action.execute(execution)
+
+        then:
+        1 * execution.proceed() >> {
+            events.each { listener.onOutput(it) }
+        }
+        1 * loggingOutput.removeOutputEventListener(_) >> {
+            buildFinished.countDown()
+        }
+
+        and:
+        batches.flatten() == events
+    }
+
+    def "does not send events below the log level of the build"() {
+        def lifecycle = new LogEvent(0, "category", LogLevel.LIFECYCLE, "lifecycle", null)
+        def debug = new LogEvent(0, "category", LogLevel.DEBUG, "debug", null)
+
+        given:
+        connection.logEvents(_) >> { Collection batch -> batches << new ArrayList(batch) }
+
+        when:
+        action.execute(execution)
+
+        then:
+        1 * execution.proceed() >> {
+            listener.onOutput(debug)
+            listener.onOutput(lifecycle)
+        }
+
+        and:
+        batches.flatten() == [lifecycle]
+    }
+}
@@ -90,6 +90,30 @@ class DaemonMemoryStatusTest extends Specification {
         1.0           | 75             | 1.0  | 100  | true
     }
 
+    @Unroll
+    def "knows when tenured space is low (#usageThreshold <= #used, #eventCount events)"() {
+        when:
+        System.setProperty(TENURED_USAGE_EXPIRE_AT, usageThreshold.toString())
+        gcMonitor.getTenuredStats() >> {
+            Stub(GarbageCollectionStats) {
+                getUsage() >> used
+                getRate() >> 0.1
+                getEventCount() >> eventCount
+            }
+        }
+
+        then:
+        status.isTenuredSpaceLow() == low
+
+        where:
+        usageThreshold | used | eventCount | low
+        90             | 100  | 10         | true
+        90             | 90   | 10         | true
+        90             | 89   | 10         | false
+        90             | 100  | 4          | false
+        0              | 100  | 10         | false
+    }
+
     @Unroll
     def "knows when perm gen space is exhausted (#usageThreshold <= #used, #usageThreshold <= #used)"() {
         when:
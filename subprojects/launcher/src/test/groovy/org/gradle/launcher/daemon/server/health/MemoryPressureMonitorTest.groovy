@@ -0,0 +1,94 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.launcher.daemon.server.health
+
+import org.gradle.internal.concurrent.ManagedScheduledExecutor
+import org.gradle.internal.work.MemoryPressureListener
+import spock.lang.Specification
+
+import java.util.concurrent.ScheduledFuture
+
+class MemoryPressureMonitorTest extends Specification {
+    def memoryStatus = Mock(DaemonMemoryStatus)
+    def listener = Mock(MemoryPressureListener)
+    def scheduler = Mock(ManagedScheduledExecutor)
+    def future = Mock(ScheduledFuture)
+    def monitor = new MemoryPressureMonitor(memoryStatus, listener, scheduler)
+
+    def "samples memory status while monitoring"() {
+        when:
+        monitor.startMonitoring()
+
+        then:
+        1 * scheduler.scheduleAtFixedRate(_, _, _, _) >> future
+
+        when:
+        monitor.stopMonitoring()
+
+        then:
+        1 * future.cancel(false)
+        0 * listener._
+    }
+
+    def "notifies listener when tenured space becomes low and when it recovers"() {
+        given:
+        scheduler.scheduleAtFixedRate(_, _, _, _) >> future
+        monitor.startMonitoring()
+
+        when:
+        monitor.checkMemoryPressure()
+
+        then:
+        1 * memoryStatus.isTenuredSpaceLow() >> true
+        1 * listener.onMemoryPressureChange(true)
+
+        when:
+        monitor.checkMemoryPressure()
+
+        then:
+        1 * memoryStatus.isTenuredSpaceLow() >> true
+        0 * listener._
+
+        when:
+        monitor.checkMemoryPressure()
+
+        then:
+        1 * memoryStatus.isTenuredSpaceLow() >> false
+        1 * listener.onMemoryPressureChange(false)
+    }
+
+    def "relieves memory pressure when monitoring stops"() {
+        given:
+        scheduler.scheduleAtFixedRate(_, _, _, _) >> future
+        memoryStatus.isTenuredSpaceLow() >> true
+        monitor.startMonitoring()
+        monitor.checkMemoryPressure()
+
+        when:
+        monitor.stopMonitoring()
+
+        then:
+        1 * listener.onMemoryPressureChange(false)
+
+        when:
+        monitor.checkMemoryPressure()
+
+        then:
+        0 * memoryStatus._
+        0 * listener._
+    }
+}
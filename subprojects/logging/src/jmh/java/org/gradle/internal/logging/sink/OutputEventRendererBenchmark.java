@@ -0,0 +1,65 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.internal.logging.sink;
+
+import com.google.common.io.ByteStreams;
+import org.gradle.api.logging.LogLevel;
+import org.gradle.api.logging.configuration.ConsoleOutput;
+import org.gradle.internal.logging.events.LogEvent;
+import org.gradle.internal.time.Time;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Many threads logging concurrently through an {@link OutputEventRenderer}, as happens when task threads write to the console in a highly parallel build.
+ */
+@Fork(2)
+@Warmup(iterations = 10)
+@Threads(32)
+@State(Scope.Benchmark)
+public class OutputEventRendererBenchmark {
+
+    @Param({"Plain", "Rich"})
+    ConsoleOutput consoleOutput;
+
+    private OutputEventRenderer renderer;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        renderer = new OutputEventRenderer(Time.clock());
+        renderer.configure(LogLevel.LIFECYCLE);
+        renderer.attachConsole(ByteStreams.nullOutputStream(), ByteStreams.nullOutputStream(), consoleOutput);
+    }
+
+    @Benchmark
+    public void logLifecycleMessage() {
+        renderer.onOutput(new LogEvent(System.currentTimeMillis(), "category", LogLevel.LIFECYCLE, "some lifecycle message", null));
+    }
+
+    @Benchmark
+    public void logFilteredDebugMessage() {
+        renderer.onOutput(new LogEvent(System.currentTimeMillis(), "category", LogLevel.DEBUG, "some debug message", null));
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.internal.remote.internal.inet;
+
+import org.gradle.internal.remote.internal.KryoBackedMessageSerializer;
+import org.gradle.internal.serialize.BaseSerializerFactory;
+import org.gradle.internal.serialize.Serializers;
+import org.gradle.internal.serialize.StatefulSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Round trips of small messages and of bulk payloads over a loopback {@link SocketConnection}, with the other end echoing each message back.
+ * The {@code tcpNoDelay} parameter compares the default connection setup with Nagle's algorithm re-enabled on both ends.
+ */
+@Fork(2)
+@Warmup(iterations = 10)
+@State(Scope.Benchmark)
+public class SocketConnectionBenchmark {
+    private static final StatefulSerializer<byte[]> SERIALIZER = Serializers.stateful(BaseSerializerFactory.BYTE_ARRAY_SERIALIZER);
+
+    @Param({"16", "65536", "1048576"})
+    int messageSize;
+
+    @Param({"true", "false"})
+    boolean tcpNoDelay;
+
+    private byte[] message;
+    private SocketConnection<byte[]> client;
+    private SocketConnection<byte[]> server;
+    private Thread echo;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        message = new byte[messageSize];
+        ServerSocketChannel serverSocket = ServerSocketChannel.open();
+        try {
+            serverSocket.socket().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            SocketChannel clientSocket = SocketChannel.open(serverSocket.socket().getLocalSocketAddress());
+            SocketChannel serverSideSocket = serverSocket.accept();
+            client = new SocketConnection<byte[]>(clientSocket, new KryoBackedMessageSerializer(), SERIALIZER);
+            server = new SocketConnection<byte[]>(serverSideSocket, new KryoBackedMessageSerializer(), SERIALIZER);
+            clientSocket.socket().setTcpNoDelay(tcpNoDelay);
+            serverSideSocket.socket().setTcpNoDelay(tcpNoDelay);
+        } finally {
+            serverSocket.close();
+        }
+        echo = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                byte[] received;
+                while ((received = server.receive()) != null) {
+                    server.dispatch(received);
+                    server.flush();
+                }
+            }
+        });
+        echo.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        client.stop();
+        echo.join();
+        server.stop();
+    }
+
+    @Benchmark
+    public byte[] roundTrip() {
+        client.dispatch(message);
+        client.flush();
+        return client.receive();
+    }
+}
@@ -55,6 +55,8 @@ public class SocketConnection<T> implements RemoteConnection<T> {
             // NOTE: we use non-blocking IO as there is no reliable way when using blocking IO to shutdown reads while
             // keeping writes active. For example, Socket.shutdownInput() does not work on Windows.
             socket.configureBlocking(false);
+            // Messages are written in batches and explicitly flushed, so Nagle's algorithm would only delay the final segment of each batch
+            socket.socket().setTcpNoDelay(true);
             outstr = new SocketOutputStream(socket);
             instr = new SocketInputStream(socket);
         } catch (IOException e) {
@@ -174,32 +176,23 @@ public class SocketConnection<T> implements RemoteConnection<T> {
             }
 
             if (buffer.remaining() == 0) {
-                try {
-                    selector.select();
-                } catch (ClosedSelectorException e) {
-                    return -1;
-                }
-                if (!selector.isOpen()) {
-                    return -1;
-                }
-
-                buffer.clear();
-                int nread;
-                try {
-                    nread = socket.read(buffer);
-                } catch (IOException e) {
-                    if (isEndOfStream(e)) {
-                        buffer.position(0);
-                        buffer.limit(0);
-                        return -1;
+                // Attempt to read before waiting on the selector, so that a select() call is only made when no data is available yet
+                // rather than for every read when data is streaming in
+                int nread = readFromChannel();
+                while (nread == 0) {
+                    if (!waitForData()) {
+                        nread = -1;
+                        break;
                     }
-                    throw e;
+                    nread = readFromChannel();
                 }
-                buffer.flip();
 
                 if (nread < 0) {
+                    buffer.position(0);
+                    buffer.limit(0);
                     return -1;
                 }
+                buffer.flip();
             }
 
             int count = Math.min(buffer.remaining(), max);
@@ -207,6 +200,36 @@ public class SocketConnection<T> implements RemoteConnection<T> {
             return count;
         }
 
+        private int readFromChannel() throws IOException {
+            if (!selector.isOpen()) {
+                // Reads have been shut down
+                return -1;
+            }
+            buffer.clear();
+            try {
+                return socket.read(buffer);
+            } catch (IOException e) {
+                if (isEndOfStream(e)) {
+                    return -1;
+                }
+                throw e;
+            }
+        }
+
+        private boolean waitForData() throws IOException {
+            try {
+                selector.select();
+                if (!selector.isOpen()) {
+                    return false;
+                }
+                // Clear the selected key, so that the next select() blocks until more data arrives
+                selector.selectedKeys().clear();
+                return true;
+            } catch (ClosedSelectorException e) {
+                return false;
+            }
+        }
+
         @Override
         public void close() throws IOException {
             selector.close();
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.internal.remote.internal.inet
+
+import org.gradle.internal.remote.internal.KryoBackedMessageSerializer
+import org.gradle.internal.serialize.BaseSerializerFactory
+import org.gradle.internal.serialize.Serializers
+import spock.lang.Specification
+import spock.lang.Timeout
+
+import java.nio.channels.ServerSocketChannel
+import java.nio.channels.SocketChannel
+
+@Timeout(60)
+class SocketConnectionTest extends Specification {
+    def serializer = Serializers.stateful(BaseSerializerFactory.STRING_SERIALIZER)
+    ServerSocketChannel serverSocket
+    SocketChannel clientSocket
+    SocketChannel serverSideSocket
+    SocketConnection<String> client
+    SocketConnection<String> server
+
+    def setup() {
+        serverSocket = ServerSocketChannel.open()
+        serverSocket.socket().bind(new InetSocketAddress(InetAddress.getByName(null), 0))
+        clientSocket = SocketChannel.open(serverSocket.socket().localSocketAddress)
+        serverSideSocket = serverSocket.accept()
+    }
+
+    def cleanup() {
+        client?.stop()
+        server?.stop()
+        clientSocket?.close()
+        serverSideSocket?.close()
+        serverSocket?.close()
+    }
+
+    def "disables Nagle's algorithm on both ends of a connection"() {
+        expect:
+        !clientSocket.socket().tcpNoDelay
+        !serverSideSocket.socket().tcpNoDelay
+
+        when:
+        client = new SocketConnection<String>(clientSocket, new KryoBackedMessageSerializer(), serializer)
+        server = new SocketConnection<String>(serverSideSocket, new KryoBackedMessageSerializer(), serializer)
+
+        then:
+        clientSocket.socket().tcpNoDelay
+        serverSideSocket.socket().tcpNoDelay
+    }
+
+    def "messages are delivered in both directions"() {
+        given:
+        client = new SocketConnection<String>(clientSocket, new KryoBackedMessageSerializer(), serializer)
+        server = new SocketConnection<String>(serverSideSocket, new KryoBackedMessageSerializer(), serializer)
+
+        when:
+        client.dispatch("ping")
+        client.flush()
+
+        then:
+        server.receive() == "ping"
+
+        when:
+        server.dispatch("pong")
+        server.flush()
+
+        then:
+        client.receive() == "pong"
+    }
+}
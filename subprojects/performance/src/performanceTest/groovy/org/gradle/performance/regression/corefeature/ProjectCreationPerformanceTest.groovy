@@ -33,4 +33,19 @@ class ProjectCreationPerformanceTest extends AbstractCrossVersionPerformanceTest
         then:
         result.assertCurrentVersionHasNotRegressed()
     }
+
+    def "configure many java projects"() {
+        given:
+        runner.testProject = "manyJavaProjects"
+        runner.tasksToRun = ['help']
+        // Only measures build time. Retained heap per project is not measured by the performance fixtures
+        runner.gradleOpts = ['-Xms1g', '-Xmx1g']
+        runner.targetVersions = ["4.8-20180417000132+0000"]
+
+        when:
+        def result = runner.run()
+
+        then:
+        result.assertCurrentVersionHasNotRegressed()
+    }
 }
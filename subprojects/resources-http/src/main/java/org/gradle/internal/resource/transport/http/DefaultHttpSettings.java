@@ -41,6 +41,7 @@ public class DefaultHttpSettings implements HttpSettings {
     private HttpProxySettings proxySettings;
     private HttpProxySettings secureProxySettings;
     private HttpTimeoutSettings timeoutSettings;
+    private HttpConnectionSettings connectionSettings;
 
     public static Builder builder() {
         return new Builder();
@@ -81,6 +82,14 @@ public class DefaultHttpSettings implements HttpSettings {
         return timeoutSettings;
     }
 
+    @Override
+    public HttpConnectionSettings getConnectionSettings() {
+        if (connectionSettings == null) {
+            connectionSettings = new JavaSystemPropertiesHttpConnectionSettings();
+        }
+        return connectionSettings;
+    }
+
     @Override
     public boolean isFollowRedirects() {
         return followRedirects;
@@ -78,7 +78,6 @@ import java.util.Collections;
 
 public class HttpClientConfigurer {
     private static final Logger LOGGER = LoggerFactory.getLogger(HttpClientConfigurer.class);
-    private static final int MAX_HTTP_CONNECTIONS = 20;
     private final HttpSettings httpSettings;
 
     public HttpClientConfigurer(HttpSettings httpSettings) {
@@ -96,9 +95,8 @@ public class HttpClientConfigurer {
         configureRequestConfig(builder);
         configureSocketConfig(builder);
         configureRedirectStrategy(builder);
+        configureConnectionLimits(builder);
         builder.setDefaultCredentialsProvider(credentialsProvider);
-        builder.setMaxConnTotal(MAX_HTTP_CONNECTIONS);
-        builder.setMaxConnPerRoute(MAX_HTTP_CONNECTIONS);
     }
 
     private void configureSslSocketConnectionFactory(HttpClientBuilder builder, SslContextFactory sslContextFactory, HostnameVerifier hostnameVerifier) {
@@ -213,6 +211,13 @@ public class HttpClientConfigurer {
         builder.setDefaultSocketConfig(SocketConfig.custom().setSoTimeout(timeoutSettings.getSocketTimeoutMs()).build());
     }
 
+    private void configureConnectionLimits(HttpClientBuilder builder) {
+        // Each repository gets its own client, so the pool size bounds the number of concurrent requests to that repository
+        int maxConnections = httpSettings.getConnectionSettings().getMaxConnectionsPerRepository();
+        builder.setMaxConnTotal(maxConnections);
+        builder.setMaxConnPerRoute(maxConnections);
+    }
+
     private PasswordCredentials getPasswordCredentials(Authentication authentication) {
         org.gradle.api.credentials.Credentials credentials = ((AuthenticationInternal) authentication).getCredentials();
         if (!(credentials instanceof PasswordCredentials)) {
@@ -37,6 +37,8 @@ public class HttpConnectorFactory implements ResourceConnectorFactory {
     );
 
     private SslContextFactory sslContextFactory;
+    // Shared by all connectors, so that listings can be revalidated in later builds
+    private final HttpDirectoryListingCache directoryListingCache = new HttpDirectoryListingCache();
 
     public HttpConnectorFactory(SslContextFactory sslContextFactory) {
         this.sslContextFactory = sslContextFactory;
@@ -60,7 +62,7 @@ public class HttpConnectorFactory implements ResourceConnectorFactory {
             .build()
         );
         HttpResourceAccessor accessor = new HttpResourceAccessor(http);
-        HttpResourceLister lister = new HttpResourceLister(accessor);
+        HttpResourceLister lister = new HttpResourceLister(accessor, directoryListingCache);
         HttpResourceUploader uploader = new HttpResourceUploader(http);
         return new DefaultExternalResourceConnector(accessor, lister, uploader);
     }
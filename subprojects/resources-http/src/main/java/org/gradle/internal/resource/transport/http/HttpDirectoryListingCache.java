@@ -0,0 +1,84 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.internal.resource.transport.http;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import net.jcip.annotations.ThreadSafe;
+import org.gradle.internal.resource.metadata.ExternalResourceMetaData;
+
+import javax.annotation.Nullable;
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Retains HTTP directory listings together with the validators returned by the server, so that a listing can be revalidated
+ * using a conditional request instead of being downloaded and parsed again.
+ */
+@ThreadSafe
+public class HttpDirectoryListingCache {
+    private static final int MAX_ENTRIES = 10000;
+
+    private final Cache<URI, CachedListing> listings = CacheBuilder.newBuilder().maximumSize(MAX_ENTRIES).build();
+
+    @Nullable
+    public CachedListing get(URI directory) {
+        return listings.getIfPresent(directory);
+    }
+
+    public void store(URI directory, ExternalResourceMetaData metaData, List<String> entries) {
+        String etag = metaData.getEtag();
+        long lastModified = metaData.getLastModified() == null ? 0 : metaData.getLastModified().getTime();
+        if (etag == null && lastModified <= 0) {
+            // Cannot revalidate without a validator
+            listings.invalidate(directory);
+            return;
+        }
+        listings.put(directory, new CachedListing(etag, lastModified, ImmutableList.copyOf(entries)));
+    }
+
+    public void remove(URI directory) {
+        listings.invalidate(directory);
+    }
+
+    public static class CachedListing {
+        private final String etag;
+        private final long lastModified;
+        private final List<String> entries;
+
+        CachedListing(@Nullable String etag, long lastModified, List<String> entries) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.entries = entries;
+        }
+
+        @Nullable
+        public String getEtag() {
+            return etag;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        public List<String> getEntries() {
+            return entries;
+        }
+    }
+}
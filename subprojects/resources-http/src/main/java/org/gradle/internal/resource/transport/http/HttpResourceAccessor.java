@@ -48,6 +48,23 @@ public class HttpResourceAccessor implements ExternalResourceAccessor {
         return null;
     }
 
+    /**
+     * Same as {@link #openResource(URI, boolean)}, except that the request is conditional on the given validators.
+     * Callers should check for a 304 status code, in which case the response has no content.
+     */
+    @Nullable
+    public HttpResponseResource openResourceIfModified(final URI uri, boolean revalidate, @Nullable String etag, long lastModified) {
+        String location = uri.toString();
+        LOGGER.debug("Constructing external resource: {}", location);
+
+        CloseableHttpResponse response = http.performConditionalGet(location, revalidate, etag, lastModified);
+        if (response != null) {
+            return wrapResponse(uri, response);
+        }
+
+        return null;
+    }
+
     /**
      * Same as #getResource except that it always gives access to the response body,
      * irrespective of the returned HTTP status code. Never returns {@code null}.
@@ -28,6 +28,8 @@ public interface HttpSettings {
 
     HttpTimeoutSettings getTimeoutSettings();
 
+    HttpConnectionSettings getConnectionSettings();
+
     boolean isFollowRedirects();
 
     Collection<Authentication> getAuthenticationSettings();
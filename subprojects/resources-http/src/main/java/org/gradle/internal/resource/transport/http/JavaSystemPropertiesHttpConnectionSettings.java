@@ -0,0 +1,58 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.gradle.internal.resource.transport.http;
+
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class JavaSystemPropertiesHttpConnectionSettings implements HttpConnectionSettings {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JavaSystemPropertiesHttpConnectionSettings.class);
+    public static final String MAX_CONNECTIONS_PER_REPOSITORY_SYSTEM_PROPERTY = "org.gradle.internal.http.maxConnectionsPerRepository";
+    public static final int DEFAULT_MAX_CONNECTIONS_PER_REPOSITORY = 20;
+    private final int maxConnectionsPerRepository;
+
+    public JavaSystemPropertiesHttpConnectionSettings() {
+        this.maxConnectionsPerRepository = initLimit(MAX_CONNECTIONS_PER_REPOSITORY_SYSTEM_PROPERTY, DEFAULT_MAX_CONNECTIONS_PER_REPOSITORY);
+    }
+
+    @Override
+    public int getMaxConnectionsPerRepository() {
+        return maxConnectionsPerRepository;
+    }
+
+    private int initLimit(String propertyName, int defaultValue) {
+        String systemProperty = System.getProperty(propertyName);
+
+        if (!StringUtils.isBlank(systemProperty)) {
+            try {
+                int value = Integer.parseInt(systemProperty);
+                if (value > 0) {
+                    return value;
+                }
+            } catch (NumberFormatException e) {
+                // Fall through to the warning below
+            }
+            LOGGER.warn("Invalid value for java system property '{}': {}. Default connection limit '{}' will be used.",
+                propertyName, systemProperty, defaultValue);
+        }
+
+        return defaultValue;
+    }
+}
@@ -32,10 +32,14 @@ public class HttpClientConfigurerTest extends Specification {
     HttpProxySettings proxySettings = Mock()
     HttpProxySettings secureProxySettings = Mock()
     HttpTimeoutSettings timeoutSettings = Mock()
+    HttpConnectionSettings connectionSettings = Mock() {
+        getMaxConnectionsPerRepository() >> 20
+    }
     HttpSettings httpSettings = Mock() {
         getProxySettings() >> proxySettings
         getSecureProxySettings() >> secureProxySettings
         getTimeoutSettings() >> timeoutSettings
+        getConnectionSettings() >> connectionSettings
     }
     SslContextFactory sslContextFactory = Mock() {
         createSslContext() >> SSLContexts.createDefault()
@@ -126,4 +130,17 @@ public class HttpClientConfigurerTest extends Specification {
         httpClientBuilder.defaultRequestConfig.connectTimeout == 10000
         httpClientBuilder.defaultRequestConfig.socketTimeout == 30000
     }
+
+    def "configures http client connection limits"() {
+        httpSettings.authenticationSettings >> []
+        httpSettings.sslContextFactory >> sslContextFactory
+
+        when:
+        configurer.configure(httpClientBuilder)
+
+        then:
+        1 * connectionSettings.maxConnectionsPerRepository >> 4
+        httpClientBuilder.maxConnTotal == 4
+        httpClientBuilder.maxConnPerRoute == 4
+    }
 }
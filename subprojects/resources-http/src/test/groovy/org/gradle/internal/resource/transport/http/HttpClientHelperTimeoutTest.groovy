@@ -78,6 +78,7 @@ class HttpClientHelperTimeoutTest extends Specification {
             getProxySettings() >> Mock(HttpProxySettings)
             getSecureProxySettings() >> Mock(HttpProxySettings)
             getTimeoutSettings() >> new JavaSystemPropertiesHttpTimeoutSettings()
+            getConnectionSettings() >> new JavaSystemPropertiesHttpConnectionSettings()
             getSslContextFactory() >> Mock(SslContextFactory) {
                 createSslContext() >> SSLContexts.createDefault()
             }
@@ -23,7 +23,8 @@ class HttpResourceListerTest extends Specification {
     HttpResourceAccessor accessorMock = Mock()
     HttpResponseResource externalResource = Mock()
     ExternalResourceMetaData metaData = Mock()
-    HttpResourceLister lister = new HttpResourceLister(accessorMock)
+    HttpDirectoryListingCache listingCache = new HttpDirectoryListingCache()
+    HttpResourceLister lister = new HttpResourceLister(accessorMock, listingCache)
 
     def "consumeExternalResource closes resource after reading into stream"() {
         setup:
@@ -43,4 +44,47 @@ class HttpResourceListerTest extends Specification {
         expect:
         null == lister.list(new URI("http://testrepo"))
     }
+
+    def "revalidates cached listing using conditional request"() {
+        def uri = new URI("http://testrepo/")
+        def lastModified = new Date(1000)
+        HttpResponseResource notModified = Mock()
+
+        given:
+        accessorMock.openResource(uri, true) >> externalResource
+        externalResource.openStream() >> new ByteArrayInputStream("<a href='child'/>".bytes)
+        externalResource.metaData >> metaData
+        metaData.contentType >> "text/html"
+        metaData.etag >> "abc"
+        metaData.lastModified >> lastModified
+        def listing = lister.list(uri)
+
+        when:
+        def result = lister.list(uri)
+
+        then:
+        1 * accessorMock.openResourceIfModified(uri, true, "abc", 1000) >> notModified
+        1 * notModified.statusCode >> 304
+        0 * notModified.openStream()
+        1 * notModified.close()
+
+        and:
+        result == listing
+        result == ["child"]
+    }
+
+    def "does not revalidate listing without validators"() {
+        def uri = new URI("http://testrepo/")
+
+        when:
+        lister.list(uri)
+        lister.list(uri)
+
+        then:
+        2 * accessorMock.openResource(uri, true) >> externalResource
+        2 * externalResource.openStream() >> { new ByteArrayInputStream("<a href='child'/>".bytes) }
+        _ * externalResource.metaData >> metaData
+        _ * metaData.contentType >> "text/html"
+        0 * accessorMock.openResourceIfModified(_, _, _, _)
+    }
 }